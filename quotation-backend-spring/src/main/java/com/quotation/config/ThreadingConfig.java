@@ -0,0 +1,41 @@
+package com.quotation.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Support for running on virtual threads ({@code spring.threads.virtual.enabled=true} on Java 21+). Spring
+ * Boot then serves requests and runs scheduled and async tasks on virtual threads. Because those are no
+ * longer bounded by the Tomcat pool, the data source is wrapped in a {@link ConcurrencyLimitedDataSource}
+ * by default in that mode.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("datasource.concurrency-limit.enabled", Boolean.class,
+                Threading.VIRTUAL.isActive(environment));
+        int permits = environment.getProperty("datasource.concurrency-limit.permits", Integer.class, 0);
+        int maxConcurrent = permits > 0 ? permits
+                : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        Duration timeout = environment.getProperty("datasource.concurrency-limit.timeout", Duration.class,
+                Duration.ofSeconds(10));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
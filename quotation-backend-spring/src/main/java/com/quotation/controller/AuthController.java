@@ -2,8 +2,10 @@ package com.quotation.controller;
 
 import com.quotation.dto.JwtResponse;
 import com.quotation.dto.LoginRequest;
+import com.quotation.dto.RefreshTokenRequest;
 import com.quotation.dto.RegisterRequest;
 import com.quotation.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -23,14 +25,29 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<JwtResponse> register(@Valid @RequestBody RegisterRequest request) {
-        JwtResponse response = authService.register(request);
+    public ResponseEntity<JwtResponse> register(@Valid @RequestBody RegisterRequest request,
+                                                HttpServletRequest httpRequest) {
+        JwtResponse response = authService.register(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request) {
-        JwtResponse response = authService.login(request);
+    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request,
+                                             HttpServletRequest httpRequest) {
+        JwtResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        JwtResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request,
+                                       Authentication authentication) {
+        authService.logout(request, authentication);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,10 +1,15 @@
 package com.quotation.controller;
 
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.CategoryOption;
 import com.quotation.dto.CategoryRequest;
 import com.quotation.dto.CategoryResponse;
+import com.quotation.dto.PageResponse;
 import com.quotation.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +29,18 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<CategoryResponse>> getCategoryPage(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(categoryService.getCategoryPage(pageable));
+    }
+
+    @GetMapping("/options")
+    public ResponseEntity<CursorPageResponse<CategoryOption>> getCategoryOptions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(categoryService.getCategoryOptions(cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
         CategoryResponse category = categoryService.getCategoryById(id);
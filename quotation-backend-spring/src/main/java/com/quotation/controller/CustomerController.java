@@ -1,10 +1,19 @@
 package com.quotation.controller;
 
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.CustomerOption;
 import com.quotation.dto.CustomerRequest;
 import com.quotation.dto.CustomerResponse;
+import com.quotation.dto.CustomerSummaryResponse;
+import com.quotation.dto.OrderPageResponse;
+import com.quotation.dto.PageResponse;
+import com.quotation.dto.CustomerSearchResponse;
 import com.quotation.service.CustomerService;
+import com.quotation.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +27,9 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private OrderService orderService;
+
     @GetMapping
     public ResponseEntity<List<CustomerResponse>> getAllCustomers(
             @RequestParam(required = false) String search) {
@@ -25,12 +37,45 @@ public class CustomerController {
         return ResponseEntity.ok(customers);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<CustomerSearchResponse> searchCustomers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(customerService.searchCustomers(query, page, size));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<CustomerResponse>> getCustomerPage(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(customerService.getCustomerPage(pageable));
+    }
+
+    @GetMapping("/options")
+    public ResponseEntity<CursorPageResponse<CustomerOption>> getCustomerOptions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(customerService.getCustomerOptions(cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
         CustomerResponse customer = customerService.getCustomerById(id);
         return ResponseEntity.ok(customer);
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CustomerSummaryResponse> getCustomerSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(customerService.getCustomerSummary(id));
+    }
+
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<OrderPageResponse> getCustomerOrders(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getCustomerOrders(id, cursor, size));
+    }
+
     @PostMapping
     public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest request) {
         CustomerResponse customer = customerService.createCustomer(request);
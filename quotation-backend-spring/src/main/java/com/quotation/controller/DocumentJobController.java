@@ -0,0 +1,58 @@
+package com.quotation.controller;
+
+import com.quotation.dto.DocumentJobRequest;
+import com.quotation.dto.DocumentJobResponse;
+import com.quotation.service.DocumentJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/orders/documents/jobs")
+public class DocumentJobController {
+
+    @Autowired
+    private DocumentJobService documentJobService;
+
+    @PostMapping
+    public ResponseEntity<DocumentJobResponse> createJob(@RequestBody DocumentJobRequest request) {
+        DocumentJobResponse job = documentJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/documents/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DocumentJobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(documentJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<?> downloadJob(@PathVariable String id) throws IOException {
+        Optional<DocumentJobService.Archive> archive = documentJobService.openArchive(id);
+        if (archive.isEmpty()) {
+            // Not finished yet: answer with the current progress instead
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(documentJobService.getJob(id));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .contentLength(archive.get().size())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"quotations-" + id + ".zip\"")
+                // The converter closes the stream once the body is written, which ends the download
+                .body(new InputStreamResource(archive.get().content()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable String id) {
+        documentJobService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,10 +1,15 @@
 package com.quotation.controller;
 
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.EmployeeOption;
 import com.quotation.dto.EmployeeRequest;
 import com.quotation.dto.EmployeeResponse;
+import com.quotation.dto.PageResponse;
 import com.quotation.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +29,18 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<EmployeeResponse>> getEmployeePage(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(employeeService.getEmployeePage(pageable));
+    }
+
+    @GetMapping("/options")
+    public ResponseEntity<CursorPageResponse<EmployeeOption>> getEmployeeOptions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(employeeService.getEmployeeOptions(cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
         EmployeeResponse employee = employeeService.getEmployeeById(id);
@@ -1,7 +1,9 @@
 package com.quotation.controller;
 
+import com.quotation.dto.CatalogStats;
 import com.quotation.dto.ItemRequest;
 import com.quotation.dto.ItemResponse;
+import com.quotation.service.ItemCatalog;
 import com.quotation.service.ItemService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,9 @@ public class ItemController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemCatalog itemCatalog;
+
     @GetMapping
     public ResponseEntity<List<ItemResponse>> getAllItems(
             @RequestParam(required = false) String search,
@@ -26,6 +31,19 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<ItemResponse>> searchItems(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(itemService.searchItems(query, categoryId, limit));
+    }
+
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<CatalogStats> getCatalogStats() {
+        return ResponseEntity.ok(itemCatalog.getStats());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ItemResponse> getItemById(@PathVariable Long id) {
         ItemResponse item = itemService.getItemById(id);
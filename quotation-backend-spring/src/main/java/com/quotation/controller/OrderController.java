@@ -1,15 +1,25 @@
 package com.quotation.controller;
 
+import com.quotation.dto.OrderFilter;
+import com.quotation.dto.OrderPageResponse;
 import com.quotation.dto.OrderRequest;
 import com.quotation.dto.OrderResponse;
 import com.quotation.dto.OrderUpdateRequest;
+import com.quotation.service.OrderExportService;
+import com.quotation.service.OrderImportService;
 import com.quotation.service.OrderService;
+import com.quotation.service.ReceiptService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,6 +29,15 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderImportService orderImportService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ReceiptService receiptService;
+
     @PostMapping("/quotations")
     public OrderResponse createQuotation(@RequestBody OrderRequest request) {
         return orderService.createOrder(request);
@@ -39,12 +58,42 @@ public class OrderController {
         return orderService.getOrderById(id);
     }
 
+    @GetMapping(value = "/quotations/{id}/receipt", produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<byte[]> getReceiptPdf(@PathVariable Long id) {
+        ReceiptService.Receipt receipt = receiptService.getReceipt(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + receipt.orderNumber() + ".pdf\"")
+                .body(receipt.content());
+    }
+
     @GetMapping
     public ResponseEntity<List<OrderResponse>> getAllOrders() {
         List<OrderResponse> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageResponse> getOrderPage(
+            OrderFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderPageResponse page = orderService.getOrders(filter, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    public void exportOrders(
+            OrderFilter filter,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        OrderExportService.Format exportFormat = OrderExportService.Format.parse(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.getExtension() + "\"");
+        orderExportService.exportOrders(filter, exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
         OrderResponse order = orderService.getOrderById(id);
@@ -57,6 +106,12 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    public void bulkImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        orderImportService.importOrders(request.getContentType(), request.getInputStream(), response.getOutputStream());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<OrderResponse> updateOrder(
             @PathVariable Long id,
@@ -0,0 +1,54 @@
+package com.quotation.controller;
+
+import com.quotation.dto.CustomerLifetimeValue;
+import com.quotation.dto.ItemRanking;
+import com.quotation.dto.RankingQuery;
+import com.quotation.dto.SalesReport;
+import com.quotation.dto.SalesReportQuery;
+import com.quotation.service.ReportService;
+import com.quotation.service.SalesRankingService;
+import com.quotation.service.SalesSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private SalesSummaryService salesSummaryService;
+
+    @Autowired
+    private SalesRankingService salesRankingService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<SalesReport> getSalesReport(SalesReportQuery query) {
+        return ResponseEntity.ok(reportService.getSalesReport(query));
+    }
+
+    @GetMapping("/items/top")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ItemRanking>> getTopItems(RankingQuery query) {
+        return ResponseEntity.ok(salesRankingService.topItems(query));
+    }
+
+    @GetMapping("/customers/lifetime-value")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CustomerLifetimeValue>> getCustomerLifetimeValue(RankingQuery query) {
+        return ResponseEntity.ok(salesRankingService.customerLifetimeValue(query));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuild() {
+        salesSummaryService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.quotation.dto;
+
+import java.time.LocalDateTime;
+
+public record CatalogStats(
+        long version,
+        int items,
+        int categories,
+        long hits,
+        long misses,
+        long evictions,
+        LocalDateTime loadedAt) {
+}
@@ -0,0 +1,4 @@
+package com.quotation.dto;
+
+public record CategoryOption(Long id, String name) {
+}
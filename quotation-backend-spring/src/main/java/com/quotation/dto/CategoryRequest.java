@@ -10,4 +10,7 @@ public class CategoryRequest {
     private String name;
     
     private String description;
+
+    // GST slab in percent for items without their own rate
+    private Integer gstRate;
 }
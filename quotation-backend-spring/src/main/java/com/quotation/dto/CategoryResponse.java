@@ -9,6 +9,7 @@ public class CategoryResponse {
     private Long id;
     private String name;
     private String description;
+    private Integer gstRate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
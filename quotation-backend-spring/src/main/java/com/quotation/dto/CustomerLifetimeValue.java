@@ -0,0 +1,18 @@
+package com.quotation.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class CustomerLifetimeValue {
+    private int rank;
+    private Long customerId;
+    private String name;
+    private long orderCount;
+    private BigDecimal revenue;
+    private BigDecimal averageOrderValue;
+    private LocalDate firstOrderDate;
+    private LocalDate lastOrderDate;
+}
@@ -0,0 +1,4 @@
+package com.quotation.dto;
+
+public record CustomerOption(Long id, String name, String phone) {
+}
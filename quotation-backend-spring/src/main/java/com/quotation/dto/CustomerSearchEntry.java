@@ -0,0 +1,7 @@
+package com.quotation.dto;
+
+/**
+ * The customer fields the search index is built from.
+ */
+public record CustomerSearchEntry(Long id, String name, String phone, String gst) {
+}
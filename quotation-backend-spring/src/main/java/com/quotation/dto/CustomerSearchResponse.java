@@ -0,0 +1,17 @@
+package com.quotation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSearchResponse {
+    private List<CustomerResponse> customers;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
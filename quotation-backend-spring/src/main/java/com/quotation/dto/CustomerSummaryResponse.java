@@ -0,0 +1,15 @@
+package com.quotation.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class CustomerSummaryResponse {
+    private Long customerId;
+    private long orderCount;
+    private BigDecimal totalBilled;
+    private BigDecimal outstandingValue;
+    private LocalDate lastOrderDate;
+}
@@ -0,0 +1,14 @@
+package com.quotation.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Either an explicit list of order ids or a filter selecting the orders to render.
+ */
+@Data
+public class DocumentJobRequest {
+    private List<Long> orderIds;
+    private OrderFilter filter;
+}
@@ -0,0 +1,22 @@
+package com.quotation.dto;
+
+import com.quotation.service.DocumentJobService;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class DocumentJobResponse {
+    private String id;
+    private DocumentJobService.JobStatus status;
+    private int total;
+    private int completed;
+    private int failed;
+    private List<Long> failedOrderIds;
+    private String error;
+    private String downloadUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,4 @@
+package com.quotation.dto;
+
+public record EmployeeOption(Long id, String name, String phone) {
+}
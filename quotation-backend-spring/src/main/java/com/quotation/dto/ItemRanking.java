@@ -0,0 +1,14 @@
+package com.quotation.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class ItemRanking {
+    private int rank;
+    private Long itemId;
+    private String name;
+    private long quantity;
+    private BigDecimal revenue;
+}
@@ -2,6 +2,7 @@ package com.quotation.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
@@ -22,5 +23,12 @@ public class ItemRequest {
     
     private String description;
     private String unit = "pcs";
+
+    @Pattern(regexp = "\\d{4}|\\d{6}|\\d{8}", message = "HSN code must have 4, 6 or 8 digits")
+    private String hsnCode;
+
+    // GST slab in percent; null uses the category's rate
+    private Integer gstRate;
+
     private Boolean isActive = true;
 }
@@ -13,6 +13,8 @@ public class ItemResponse {
     private CategoryResponse category;
     private String description;
     private String unit;
+    private String hsnCode;
+    private Integer gstRate;
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -8,6 +8,8 @@ public class JwtResponse {
     private String type = "Bearer";
     private String email;
     private String name;
+    private String refreshToken;
+    private Long expiresIn;
 
     // Constructor with type parameter
     public JwtResponse(String token, String type, String email, String name) {
@@ -0,0 +1,30 @@
+package com.quotation.dto;
+
+import com.quotation.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One order line joined with its order header, as streamed by the order export.
+ */
+public record OrderExportRow(
+        Long orderId,
+        String orderNumber,
+        LocalDate billingDate,
+        Order.OrderStatus status,
+        Long customerId,
+        String customerName,
+        Long employeeId,
+        String employeeName,
+        BigDecimal subtotal,
+        Boolean gstEnabled,
+        BigDecimal gstAmount,
+        BigDecimal orderTotal,
+        Long itemId,
+        String itemName,
+        Integer quantity,
+        BigDecimal price,
+        String unit,
+        BigDecimal lineTotal) {
+}
@@ -0,0 +1,20 @@
+package com.quotation.dto;
+
+import com.quotation.entity.Order;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class OrderFilter {
+    private Order.OrderStatus status;
+    private Long customerId;
+    private Long employeeId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate billingDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate billingDateTo;
+}
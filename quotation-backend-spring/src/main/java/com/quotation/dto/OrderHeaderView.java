@@ -0,0 +1,36 @@
+package com.quotation.dto;
+
+import com.quotation.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only order header projected directly from the orders table and its customer/employee joins.
+ */
+public record OrderHeaderView(
+        Long id,
+        String orderNumber,
+        Long customerId,
+        String customerName,
+        String customerPhone,
+        String customerGst,
+        String customerAddress,
+        Long employeeId,
+        String employeeName,
+        BigDecimal subtotal,
+        Boolean gstEnabled,
+        BigDecimal gstAmount,
+        Integer gstRate,
+        Boolean interState,
+        BigDecimal cgstAmount,
+        BigDecimal sgstAmount,
+        BigDecimal igstAmount,
+        BigDecimal total,
+        Order.OrderStatus status,
+        LocalDate billingDate,
+        String notes,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
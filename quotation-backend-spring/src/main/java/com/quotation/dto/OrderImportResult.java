@@ -0,0 +1,24 @@
+package com.quotation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one order in a bulk import, written to the report as it is committed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderImportResult(
+        long row,
+        String reference,
+        String status,
+        Long orderId,
+        String orderNumber,
+        String error) {
+
+    public static OrderImportResult created(long row, String reference, Long orderId, String orderNumber) {
+        return new OrderImportResult(row, reference, "CREATED", orderId, orderNumber, null);
+    }
+
+    public static OrderImportResult failed(long row, String reference, String error) {
+        return new OrderImportResult(row, reference, "FAILED", null, null, error);
+    }
+}
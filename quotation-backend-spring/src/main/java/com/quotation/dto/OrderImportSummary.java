@@ -0,0 +1,7 @@
+package com.quotation.dto;
+
+/**
+ * Final line of a bulk import report.
+ */
+public record OrderImportSummary(long created, long failed) {
+}
@@ -12,4 +12,9 @@ public class OrderItemResponse {
     private BigDecimal price;
     private String unit;
     private BigDecimal total;
+    private String hsnCode;
+    private Integer gstRate;
+    private BigDecimal cgstAmount;
+    private BigDecimal sgstAmount;
+    private BigDecimal igstAmount;
 }
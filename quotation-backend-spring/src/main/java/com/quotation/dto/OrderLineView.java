@@ -0,0 +1,21 @@
+package com.quotation.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only order line flattened out of the order_items collection table.
+ */
+public record OrderLineView(
+        Long orderId,
+        Long itemId,
+        String itemName,
+        Integer quantity,
+        BigDecimal price,
+        String unit,
+        BigDecimal total,
+        String hsnCode,
+        Integer gstRate,
+        BigDecimal cgstAmount,
+        BigDecimal sgstAmount,
+        BigDecimal igstAmount) {
+}
@@ -20,5 +20,8 @@ public class OrderRequest {
     private List<OrderItemRequest> items;
     
     private Boolean gstEnabled = false;
+
+    // Overrides the place of supply derived from the customer's GSTIN
+    private Boolean interState;
     private String notes;
 }
@@ -14,6 +14,8 @@ public class OrderResponse {
     private Long customerId;
     private String customerName;
     private String customerPhone;
+    private String customerGst;
+    private String customerAddress;
     private Long employeeId;
     private String employeeName;
     private List<OrderItemResponse> items;
@@ -21,6 +23,10 @@ public class OrderResponse {
     private Boolean gstEnabled;
     private BigDecimal gstAmount;
     private Integer gstRate;
+    private Boolean interState;
+    private BigDecimal cgstAmount;
+    private BigDecimal sgstAmount;
+    private BigDecimal igstAmount;
     private BigDecimal total;
     private String status;
     private LocalDate billingDate;
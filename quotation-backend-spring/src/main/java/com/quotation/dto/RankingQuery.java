@@ -0,0 +1,27 @@
+package com.quotation.dto;
+
+import com.quotation.entity.Order;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class RankingQuery {
+
+    /** Billing date range; unbounded on either side when omitted. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /** Statuses to include; all when empty. */
+    private List<Order.OrderStatus> status;
+
+    /** Ranking measure, see the endpoint for accepted values. */
+    private String by;
+
+    private Integer limit;
+}
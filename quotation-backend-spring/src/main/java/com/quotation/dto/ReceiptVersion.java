@@ -0,0 +1,9 @@
+package com.quotation.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last-modified times of the rows a receipt is rendered from; a cached receipt is valid while both match.
+ */
+public record ReceiptVersion(LocalDateTime orderUpdatedAt, LocalDateTime customerUpdatedAt) {
+}
@@ -0,0 +1,15 @@
+package com.quotation.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sums over a group of {@code sales_summary} rows; {@code bucket} is the grouping key.
+ */
+public interface SalesBucket {
+    Object getBucket();
+    Long getOrderCount();
+    Long getQuantity();
+    BigDecimal getSubtotal();
+    BigDecimal getGstAmount();
+    BigDecimal getTotal();
+}
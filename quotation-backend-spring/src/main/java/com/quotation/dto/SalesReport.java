@@ -0,0 +1,16 @@
+package com.quotation.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class SalesReport {
+    private LocalDate from;
+    private LocalDate to;
+    private String groupBy;
+    private List<String> statuses;
+    private SalesReportRow totals;
+    private List<SalesReportRow> rows;
+}
@@ -0,0 +1,27 @@
+package com.quotation.dto;
+
+import com.quotation.entity.Order;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class SalesReportQuery {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /** day, month, customer, employee, item or status. */
+    private String groupBy = "month";
+
+    /** Statuses to include; the billed ones (pending, confirmed, completed) when empty. */
+    private List<Order.OrderStatus> status;
+
+    /** Maximum rows for customer, employee and item breakdowns. */
+    private Integer limit;
+}
@@ -0,0 +1,17 @@
+package com.quotation.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SalesReportRow {
+    private String key;
+    private String label;
+    private long orderCount;
+    private Long quantity;
+    private BigDecimal subtotal;
+    private BigDecimal gstAmount;
+    private BigDecimal total;
+    private BigDecimal averageOrderValue;
+}
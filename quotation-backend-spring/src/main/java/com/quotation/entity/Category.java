@@ -10,7 +10,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_categories_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +29,9 @@ public class Category {
     @Column(length = 500)
     private String description;
 
+    /** GST slab in percent for items of this category that do not set their own. */
+    private Integer gstRate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
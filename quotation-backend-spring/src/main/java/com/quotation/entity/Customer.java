@@ -10,7 +10,12 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_name_id", columnList = "name, id"),
+        @Index(name = "idx_customers_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_customers_phone_id", columnList = "phone, id"),
+        @Index(name = "idx_customers_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,38 @@
+package com.quotation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order totals for one customer, maintained alongside {@link SalesSummary} whenever an order changes.
+ */
+@Entity
+@Table(name = "customer_order_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderSummary {
+
+    @Id
+    private Long customerId;
+
+    /** Orders in any status. */
+    @Column(nullable = false)
+    private Long orderCount;
+
+    /** Totals of pending, confirmed and completed orders. */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalBilled;
+
+    /** Totals of pending and confirmed orders. */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal outstandingValue;
+
+    /** Latest billing date of any order; null once the customer has none. */
+    private LocalDate lastOrderDate;
+}
@@ -10,7 +10,12 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_name_id", columnList = "name, id"),
+        @Index(name = "idx_employees_position_id", columnList = "position, id"),
+        @Index(name = "idx_employees_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_employees_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
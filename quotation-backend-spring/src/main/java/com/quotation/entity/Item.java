@@ -34,6 +34,12 @@ public class Item {
     @Column(length = 500)
     private String description;
 
+    @Column(length = 8)
+    private String hsnCode;
+
+    /** GST slab in percent; null to use the category's. */
+    private Integer gstRate;
+
     @Column(length = 20)
     private String unit = "pcs";
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,7 +15,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_orders_customer_created_at_id", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_orders_employee_created_at_id", columnList = "employee_id, created_at, id"),
+        @Index(name = "idx_orders_billing_date", columnList = "billing_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,7 +46,11 @@ public class Order {
     private Employee employee;
 
     @ElementCollection
-    @CollectionTable(name = "order_items", joinColumns = @JoinColumn(name = "order_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(name = "order_items", joinColumns = @JoinColumn(name = "order_id"), indexes = {
+            @Index(name = "idx_order_items_order_line", columnList = "order_id, line_number", unique = true)
+    })
+    @OrderColumn(name = "line_number")
     private List<OrderItem> items = new ArrayList<>();
 
     @Column(nullable = false, precision = 10, scale = 2)
@@ -51,9 +62,22 @@ public class Order {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal gstAmount = BigDecimal.ZERO;
 
+    /** GST slab for lines whose item and category have none. */
     @Column(nullable = false)
     private Integer gstRate = 18;
 
+    /** Inter-state supply is taxed as IGST, intra-state as CGST plus SGST. */
+    private Boolean interState = false;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal cgstAmount = BigDecimal.ZERO;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal sgstAmount = BigDecimal.ZERO;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal igstAmount = BigDecimal.ZERO;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal total;
 
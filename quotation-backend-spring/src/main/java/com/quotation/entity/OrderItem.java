@@ -30,4 +30,19 @@ public class OrderItem {
 
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal total;
+
+    @Column(length = 8)
+    private String hsnCode;
+
+    /** GST slab applied to this line, fixed when the line is priced. */
+    private Integer gstRate;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal cgstAmount;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal sgstAmount;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal igstAmount;
 }
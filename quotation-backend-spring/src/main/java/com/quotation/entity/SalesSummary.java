@@ -0,0 +1,67 @@
+package com.quotation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running sales totals per billing day and order status, overall and per customer, employee and item.
+ * Maintained incrementally by {@link com.quotation.service.SalesSummaryService} whenever an order changes.
+ */
+@Entity
+@Table(name = "sales_summary", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sales_summary_bucket",
+                columnNames = {"dimension", "dimension_id", "bucket_date", "status"})
+}, indexes = {
+        @Index(name = "idx_sales_summary_dimension_date", columnList = "dimension, bucket_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private Dimension dimension;
+
+    /** Customer, employee or item id; 0 for {@link Dimension#TOTAL}. */
+    @Column(nullable = false)
+    private Long dimensionId;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Order.OrderStatus status;
+
+    /** Orders in the bucket; for items, orders containing the item. */
+    @Column(nullable = false)
+    private Long orderCount;
+
+    /** Units sold; only tracked for items. */
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal gstAmount;
+
+    /** Order totals including GST; for items, line totals before GST. */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    public enum Dimension {
+        TOTAL, CUSTOMER, EMPLOYEE, ITEM
+    }
+}
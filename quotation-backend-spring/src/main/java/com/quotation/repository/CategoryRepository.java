@@ -1,7 +1,12 @@
 package com.quotation.repository;
 
+import com.quotation.dto.CategoryOption;
 import com.quotation.entity.Category;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +17,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     Boolean existsByName(String name);
     List<Category> findAllByOrderByNameAsc();
+
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    @Query("SELECT new com.quotation.dto.CategoryOption(c.id, c.name) FROM Category c ORDER BY c.name, c.id")
+    List<CategoryOption> findOptions(Pageable limit);
+
+    @Query("SELECT new com.quotation.dto.CategoryOption(c.id, c.name) FROM Category c "
+            + "WHERE c.name > :name OR (c.name = :name AND c.id > :id) ORDER BY c.name, c.id")
+    List<CategoryOption> findOptionsAfter(@Param("name") String name, @Param("id") Long id, Pageable limit);
 }
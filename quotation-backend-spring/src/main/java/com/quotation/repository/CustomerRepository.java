@@ -1,6 +1,10 @@
 package com.quotation.repository;
 
+import com.quotation.dto.CustomerOption;
+import com.quotation.dto.CustomerSearchEntry;
 import com.quotation.entity.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,12 +15,18 @@ import java.util.List;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
-    @Query("SELECT c FROM Customer c WHERE " +
-           "LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Customer> searchCustomers(@Param("search") String search);
-    
+    @Query("SELECT new com.quotation.dto.CustomerSearchEntry(c.id, c.name, c.phone, c.gst) FROM Customer c")
+    List<CustomerSearchEntry> findAllSearchEntries();
+
     List<Customer> findAllByOrderByCreatedAtDesc();
-    
-    List<Customer> findByNameContainingIgnoreCaseOrPhoneContaining(String name, String phone);
+
+    Slice<Customer> findSliceBy(Pageable pageable);
+
+    @Query("SELECT new com.quotation.dto.CustomerOption(c.id, c.name, c.phone) FROM Customer c "
+            + "ORDER BY c.name, c.id")
+    List<CustomerOption> findOptions(Pageable limit);
+
+    @Query("SELECT new com.quotation.dto.CustomerOption(c.id, c.name, c.phone) FROM Customer c "
+            + "WHERE c.name > :name OR (c.name = :name AND c.id > :id) ORDER BY c.name, c.id")
+    List<CustomerOption> findOptionsAfter(@Param("name") String name, @Param("id") Long id, Pageable limit);
 }
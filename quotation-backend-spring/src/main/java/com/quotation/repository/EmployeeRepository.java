@@ -1,7 +1,12 @@
 package com.quotation.repository;
 
+import com.quotation.dto.EmployeeOption;
 import com.quotation.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +14,18 @@ import java.util.List;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByIsActiveTrueOrderByCreatedAtDesc();
+
+    @Query("SELECT e.id FROM Employee e")
+    List<Long> findAllIds();
+
+    Slice<Employee> findSliceBy(Pageable pageable);
+
+    @Query("SELECT new com.quotation.dto.EmployeeOption(e.id, e.name, e.phone) FROM Employee e "
+            + "WHERE e.isActive = true ORDER BY e.name, e.id")
+    List<EmployeeOption> findActiveOptions(Pageable limit);
+
+    @Query("SELECT new com.quotation.dto.EmployeeOption(e.id, e.name, e.phone) FROM Employee e "
+            + "WHERE e.isActive = true AND (e.name > :name OR (e.name = :name AND e.id > :id)) "
+            + "ORDER BY e.name, e.id")
+    List<EmployeeOption> findActiveOptionsAfter(@Param("name") String name, @Param("id") Long id, Pageable limit);
 }
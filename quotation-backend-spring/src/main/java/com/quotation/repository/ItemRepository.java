@@ -6,11 +6,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     
+    @Query("SELECT i FROM Item i JOIN FETCH i.category")
+    List<Item> findAllWithCategory();
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.id IN :ids")
+    List<Item> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
     List<Item> findByIsActiveTrueOrderByNameAsc();
     
     List<Item> findByCategoryIdAndIsActiveTrue(Long categoryId);
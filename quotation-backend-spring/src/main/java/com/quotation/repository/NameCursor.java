@@ -0,0 +1,26 @@
+package com.quotation.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a (name ASC, id ASC) listing, exchanged with clients as an opaque token.
+ */
+public record NameCursor(String name, Long id) {
+
+    public String encode() {
+        String raw = id + "|" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NameCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The id goes first so that names containing the separator still decode
+            int separator = raw.indexOf('|');
+            return new NameCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
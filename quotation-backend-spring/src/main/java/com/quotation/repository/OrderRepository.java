@@ -1,22 +1,37 @@
 package com.quotation.repository;
 
+import com.quotation.dto.ReceiptVersion;
 import com.quotation.entity.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     List<Order> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * Loads an order for changing it, locking its row until the transaction ends so that concurrent
+     * writers apply their summary deltas one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"customer", "employee", "items"})
+    Optional<Order> findWithDetailsById(Long id);
     
     @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC")
     Optional<Order> findLatestOrder();
     
-    List<Order> findByCustomerId(Long customerId);
+    @Query("SELECT new com.quotation.dto.ReceiptVersion(o.updatedAt, c.updatedAt) "
+            + "FROM Order o JOIN o.customer c WHERE o.id = :id")
+    Optional<ReceiptVersion> findReceiptVersionById(@Param("id") Long id);
     
     List<Order> findByStatus(Order.OrderStatus status);
 }
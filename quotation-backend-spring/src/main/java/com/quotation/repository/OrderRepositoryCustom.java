@@ -0,0 +1,37 @@
+package com.quotation.repository;
+
+import com.quotation.dto.OrderExportRow;
+import com.quotation.dto.OrderFilter;
+import com.quotation.dto.OrderHeaderView;
+import com.quotation.dto.OrderLineView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Keyset page of order headers newest first, starting strictly after {@code after} (or from the top when null).
+     */
+    List<OrderHeaderView> findHeaderPage(OrderFilter filter, OrderCursor after, int limit);
+
+    Optional<OrderHeaderView> findHeaderById(Long id);
+
+    /**
+     * Ids of matching orders, newest first, capped at {@code limit}.
+     */
+    List<Long> findIds(OrderFilter filter, int limit);
+
+    /**
+     * Lines of all given orders in a single query, grouped by order id.
+     */
+    List<OrderLineView> findLines(Collection<Long> orderIds);
+
+    /**
+     * Forward-only stream of every matching order line, ordered by order id and line position.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<OrderExportRow> streamExportRows(OrderFilter filter, int fetchSize);
+}
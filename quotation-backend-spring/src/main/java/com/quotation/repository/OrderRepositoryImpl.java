@@ -0,0 +1,129 @@
+package com.quotation.repository;
+
+import com.quotation.dto.OrderExportRow;
+import com.quotation.dto.OrderFilter;
+import com.quotation.dto.OrderHeaderView;
+import com.quotation.dto.OrderLineView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String HEADER_SELECT = "SELECT new com.quotation.dto.OrderHeaderView("
+            + "o.id, o.orderNumber, c.id, o.customerName, c.phone, c.gst, c.address, e.id, e.name, "
+            + "o.subtotal, o.gstEnabled, o.gstAmount, o.gstRate, o.interState, "
+            + "o.cgstAmount, o.sgstAmount, o.igstAmount, o.total, o.status, "
+            + "o.billingDate, o.notes, o.createdAt, o.updatedAt) "
+            + "FROM Order o JOIN o.customer c LEFT JOIN o.employee e";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderHeaderView> findHeaderPage(OrderFilter filter, OrderCursor after, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String jpql = HEADER_SELECT + whereClause(filter, after, params)
+                + " ORDER BY o.createdAt DESC, o.id DESC";
+
+        TypedQuery<OrderHeaderView> query = readOnlyQuery(jpql, OrderHeaderView.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public Optional<OrderHeaderView> findHeaderById(Long id) {
+        return readOnlyQuery(HEADER_SELECT + " WHERE o.id = :id", OrderHeaderView.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Long> findIds(OrderFilter filter, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String jpql = "SELECT o.id FROM Order o" + whereClause(filter, null, params)
+                + " ORDER BY o.createdAt DESC, o.id DESC";
+
+        TypedQuery<Long> query = readOnlyQuery(jpql, Long.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<OrderLineView> findLines(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        String jpql = "SELECT new com.quotation.dto.OrderLineView("
+                + "o.id, i.itemId, i.itemName, i.quantity, i.price, i.unit, i.total, "
+                + "i.hsnCode, i.gstRate, i.cgstAmount, i.sgstAmount, i.igstAmount) "
+                + "FROM Order o JOIN o.items i WHERE o.id IN :orderIds ORDER BY o.id, INDEX(i)";
+        return readOnlyQuery(jpql, OrderLineView.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<OrderExportRow> streamExportRows(OrderFilter filter, int fetchSize) {
+        Map<String, Object> params = new HashMap<>();
+        String jpql = "SELECT new com.quotation.dto.OrderExportRow("
+                + "o.id, o.orderNumber, o.billingDate, o.status, o.customer.id, o.customerName, e.id, e.name, "
+                + "o.subtotal, o.gstEnabled, o.gstAmount, o.total, "
+                + "i.itemId, i.itemName, i.quantity, i.price, i.unit, i.total) "
+                + "FROM Order o JOIN o.items i LEFT JOIN o.employee e"
+                + whereClause(filter, null, params)
+                + " ORDER BY o.id, INDEX(i)";
+
+        TypedQuery<OrderExportRow> query = readOnlyQuery(jpql, OrderExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        params.forEach(query::setParameter);
+        return query.getResultStream();
+    }
+
+    private <T> TypedQuery<T> readOnlyQuery(String jpql, Class<T> resultType) {
+        return entityManager.createQuery(jpql, resultType)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private String whereClause(OrderFilter filter, OrderCursor after, Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            conditions.add("o.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getCustomerId() != null) {
+            conditions.add("o.customer.id = :customerId");
+            params.put("customerId", filter.getCustomerId());
+        }
+        if (filter.getEmployeeId() != null) {
+            conditions.add("o.employee.id = :employeeId");
+            params.put("employeeId", filter.getEmployeeId());
+        }
+        if (filter.getBillingDateFrom() != null) {
+            conditions.add("o.billingDate >= :billingDateFrom");
+            params.put("billingDateFrom", filter.getBillingDateFrom());
+        }
+        if (filter.getBillingDateTo() != null) {
+            conditions.add("o.billingDate <= :billingDateTo");
+            params.put("billingDateTo", filter.getBillingDateTo());
+        }
+        if (after != null) {
+            conditions.add("(o.createdAt < :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id < :afterId))");
+            params.put("afterCreatedAt", after.createdAt());
+            params.put("afterId", after.id());
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
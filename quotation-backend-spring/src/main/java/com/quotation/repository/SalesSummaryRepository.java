@@ -0,0 +1,46 @@
+package com.quotation.repository;
+
+import com.quotation.dto.SalesBucket;
+import com.quotation.entity.Order;
+import com.quotation.entity.SalesSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SalesSummaryRepository extends JpaRepository<SalesSummary, Long> {
+
+    @Query("SELECT s.bucketDate AS bucket, SUM(s.orderCount) AS orderCount, SUM(s.quantity) AS quantity, "
+            + "SUM(s.subtotal) AS subtotal, SUM(s.gstAmount) AS gstAmount, SUM(s.total) AS total "
+            + "FROM SalesSummary s WHERE s.dimension = com.quotation.entity.SalesSummary$Dimension.TOTAL "
+            + "AND s.bucketDate BETWEEN :from AND :to AND s.status IN :statuses "
+            + "GROUP BY s.bucketDate HAVING SUM(s.orderCount) <> 0 ORDER BY s.bucketDate")
+    List<SalesBucket> sumByDate(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                @Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT s.status AS bucket, SUM(s.orderCount) AS orderCount, SUM(s.quantity) AS quantity, "
+            + "SUM(s.subtotal) AS subtotal, SUM(s.gstAmount) AS gstAmount, SUM(s.total) AS total "
+            + "FROM SalesSummary s WHERE s.dimension = com.quotation.entity.SalesSummary$Dimension.TOTAL "
+            + "AND s.bucketDate BETWEEN :from AND :to AND s.status IN :statuses "
+            + "GROUP BY s.status HAVING SUM(s.orderCount) <> 0 ORDER BY SUM(s.total) DESC")
+    List<SalesBucket> sumByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  @Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    /**
+     * Largest {@code dimension} members by total, limited by {@code limit}.
+     */
+    @Query("SELECT s.dimensionId AS bucket, SUM(s.orderCount) AS orderCount, SUM(s.quantity) AS quantity, "
+            + "SUM(s.subtotal) AS subtotal, SUM(s.gstAmount) AS gstAmount, SUM(s.total) AS total "
+            + "FROM SalesSummary s WHERE s.dimension = :dimension "
+            + "AND s.bucketDate BETWEEN :from AND :to AND s.status IN :statuses "
+            + "GROUP BY s.dimensionId HAVING SUM(s.orderCount) <> 0 ORDER BY SUM(s.total) DESC, s.dimensionId")
+    List<SalesBucket> sumByMember(@Param("dimension") SalesSummary.Dimension dimension,
+                                  @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  @Param("statuses") Collection<Order.OrderStatus> statuses, Pageable limit);
+}
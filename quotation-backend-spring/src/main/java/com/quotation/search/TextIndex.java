@@ -0,0 +1,556 @@
+package com.quotation.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory n-gram index for typeahead search over short texts such as names.
+ * <p>
+ * Text is lower-cased and split into alphanumeric tokens. Every token contributes its trigrams, which serve
+ * infix queries of three or more characters, plus its one- and two-character prefixes, which serve short
+ * queries as word-prefix matches. Candidates from the posting lists are verified against the stored text,
+ * so results never contain false positives.
+ * <p>
+ * Documents are numbered in insertion order, which keeps every posting list sorted without re-sorting.
+ * A rebuild numbers the documents by text length instead, so a search can stop scanning that sorted base
+ * as soon as no later document could still make the top results; documents added since the rebuild form
+ * a short tail that is always scanned in full. Replaced and removed documents leave tombstones. Once the
+ * tail or the tombstones grow too large the index is rebuilt off to the side and swapped in, so searches
+ * are never blocked by a rebuild.
+ */
+public class TextIndex {
+
+    public record Hit(long id, int score) {
+    }
+
+    private static final int EXACT = 1000;
+    private static final int PREFIX = 800;
+    private static final int WORD_PREFIX = 600;
+    private static final int PHRASE = 400;
+    private static final int TOKENS = 200;
+
+    private static final Comparator<Ranked> WORST_FIRST = Comparator.comparingInt(Ranked::score)
+            .thenComparing(Comparator.comparingInt(Ranked::length).reversed())
+            .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+    // Writers are serialized by the mutex; the lock only keeps readers away from in-place changes
+    private final Object writeMutex = new Object();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State(16);
+
+    /**
+     * Adds the document, replacing any earlier text stored under the same id.
+     */
+    public void put(long id, String text) {
+        String normalized = normalize(text);
+        synchronized (writeMutex) {
+            lock.writeLock().lock();
+            try {
+                state.remove(id);
+                if (!normalized.isEmpty()) {
+                    state.add(id, normalized);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            compactIfNeeded();
+        }
+    }
+
+    public void remove(long id) {
+        synchronized (writeMutex) {
+            lock.writeLock().lock();
+            try {
+                state.remove(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Replaces the whole index content.
+     */
+    public void reset(Map<Long, String> documents) {
+        List<Document> normalized = new ArrayList<>(documents.size());
+        documents.forEach((id, text) -> {
+            String value = normalize(text);
+            if (!value.isEmpty()) {
+                normalized.add(new Document(id, value));
+            }
+        });
+        synchronized (writeMutex) {
+            swap(State.build(normalized));
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.documentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code limit} documents containing every query token, highest score first. Ties go to the
+     * shorter text, then the lower id. {@code filter} may be null.
+     */
+    public List<Hit> search(String query, LongPredicate filter, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Query parsed = new Query(normalized);
+
+        lock.readLock().lock();
+        try {
+            return state.search(parsed, filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private void compactIfNeeded() {
+        // Called by the writer holding writeMutex, so the state cannot change while it is copied
+        if (state.needsCompaction()) {
+            swap(State.build(state.liveDocuments()));
+        }
+    }
+
+    private void swap(State rebuilt) {
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Document(long id, String text) {
+    }
+
+    private record Ranked(long id, int score, int length) {
+    }
+
+    private static final class Query {
+        private final String text;
+        private final String[] tokens;
+        private final String[] wordStarts;
+
+        Query(String text) {
+            this.text = text;
+            this.tokens = text.split(" ");
+            this.wordStarts = new String[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                wordStarts[i] = " " + tokens[i];
+            }
+        }
+
+        /**
+         * Score of a document text, or 0 when some query token does not match it.
+         */
+        int score(String candidate) {
+            boolean allWordPrefixes = true;
+            for (int i = 0; i < tokens.length; i++) {
+                String token = tokens[i];
+                boolean wordPrefix = candidate.startsWith(token) || candidate.contains(wordStarts[i]);
+                if (!wordPrefix && (token.length() < 3 || !candidate.contains(token))) {
+                    return 0;
+                }
+                allWordPrefixes &= wordPrefix;
+            }
+            if (candidate.length() == text.length() && candidate.equals(text)) {
+                return EXACT;
+            }
+            if (candidate.startsWith(text)) {
+                return PREFIX;
+            }
+            if (allWordPrefixes) {
+                return WORD_PREFIX;
+            }
+            return candidate.contains(text) ? PHRASE : TOKENS;
+        }
+
+        /**
+         * Highest score any document of the given length could still reach.
+         */
+        int bestPossibleScore(int length) {
+            return length == text.length() ? EXACT : PREFIX;
+        }
+    }
+
+    private static final class State {
+        private long[] externalIds;
+        private String[] texts;
+        private int documentCount;
+        private int baseCount;
+        private int tombstones;
+        private final Map<Long, Integer> documentsById;
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        State(int capacity) {
+            externalIds = new long[capacity];
+            texts = new String[capacity];
+            documentsById = new HashMap<>(capacity * 4 / 3 + 1);
+        }
+
+        static State build(List<Document> documents) {
+            documents.sort(Comparator.comparingInt((Document document) -> document.text().length())
+                    .thenComparingLong(Document::id));
+            State built = new State(Math.max(documents.size(), 16));
+            for (Document document : documents) {
+                built.add(document.id(), document.text());
+            }
+            built.baseCount = built.documentCount;
+            return built;
+        }
+
+        boolean needsCompaction() {
+            int threshold = Math.max(1024, documentCount / 8);
+            return tombstones > threshold || documentCount - baseCount > threshold;
+        }
+
+        List<Document> liveDocuments() {
+            List<Document> live = new ArrayList<>(documentsById.size());
+            for (int document = 0; document < documentCount; document++) {
+                if (texts[document] != null) {
+                    live.add(new Document(externalIds[document], texts[document]));
+                }
+            }
+            return live;
+        }
+
+        void add(long id, String text) {
+            if (documentCount == texts.length) {
+                externalIds = Arrays.copyOf(externalIds, documentCount * 2);
+                texts = Arrays.copyOf(texts, documentCount * 2);
+            }
+            int document = documentCount++;
+            externalIds[document] = id;
+            texts[document] = text;
+            documentsById.put(id, document);
+
+            for (String token : text.split(" ")) {
+                for (long gram : indexGrams(token)) {
+                    postings.computeIfAbsent(gram, key -> new Postings()).add(document);
+                }
+            }
+        }
+
+        void remove(long id) {
+            Integer document = documentsById.remove(id);
+            if (document != null) {
+                texts[document] = null;
+                tombstones++;
+            }
+        }
+
+        List<Hit> search(Query query, LongPredicate filter, int limit) {
+            // Trigrams of one token are strongly correlated, so intersecting all of them barely narrows the
+            // candidates while costing a walk over each list. Take the shortest list per token and let
+            // verification against the text do the rest.
+            List<Postings> lists = new ArrayList<>();
+            for (String token : query.tokens) {
+                Postings shortest = null;
+                for (long gram : queryGrams(token)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    if (shortest == null || list.size < shortest.size) {
+                        shortest = list;
+                    }
+                }
+                lists.add(shortest);
+            }
+            PriorityQueue<Ranked> top = new PriorityQueue<>(Math.min(limit, 1024) + 1, WORST_FIRST);
+
+            // The tail is in insertion order and has to be scanned completely
+            Intersection tail = new Intersection(lists, baseCount, Integer.MAX_VALUE);
+            for (int document = tail.next(); document >= 0; document = tail.next()) {
+                consider(document, query, filter, limit, top);
+            }
+
+            // The base is ordered by (length, id), so once a document sorts after the weakest hit only a
+            // strictly better score can still get in; stop when that is impossible, and once only word-prefix
+            // matches would do, narrow the scan to documents having a word starting like each query token
+            Intersection base = new Intersection(lists, 0, baseCount);
+            boolean narrowed = false;
+            for (int document = base.next(); document >= 0; document = base.next()) {
+                String text = texts[document];
+                if (text == null) {
+                    continue;
+                }
+                if (top.size() == limit) {
+                    Ranked weakest = top.peek();
+                    boolean sortsAfterWeakest = text.length() > weakest.length()
+                            || (text.length() == weakest.length() && externalIds[document] > weakest.id());
+                    int best = query.bestPossibleScore(text.length());
+                    if (best < weakest.score() || (best == weakest.score() && sortsAfterWeakest)) {
+                        break;
+                    }
+                    if (sortsAfterWeakest && weakest.score() >= PHRASE && !narrowed) {
+                        narrowed = true;
+                        for (String token : query.tokens) {
+                            Postings wordStarts = postings.get(prefixGram(token, Math.min(token.length(), 2)));
+                            if (wordStarts == null) {
+                                return hits(top);
+                            }
+                            base.require(wordStarts);
+                        }
+                        if (!base.contains(document)) {
+                            continue;
+                        }
+                    }
+                }
+                consider(document, query, filter, limit, top);
+            }
+            return hits(top);
+        }
+
+        private static List<Hit> hits(PriorityQueue<Ranked> top) {
+            Hit[] hits = new Hit[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                Ranked ranked = top.poll();
+                hits[i] = new Hit(ranked.id(), ranked.score());
+            }
+            return Arrays.asList(hits);
+        }
+
+        private void consider(int document, Query query, LongPredicate filter, int limit, PriorityQueue<Ranked> top) {
+            String text = texts[document];
+            if (text == null) {
+                return;
+            }
+            int score = query.score(text);
+            if (score == 0) {
+                return;
+            }
+            long id = externalIds[document];
+            if (top.size() == limit) {
+                Ranked weakest = top.peek();
+                if (score < weakest.score() || (score == weakest.score() && (text.length() > weakest.length()
+                        || (text.length() == weakest.length() && id > weakest.id())))) {
+                    return;
+                }
+            }
+            if (filter != null && !filter.test(id)) {
+                return;
+            }
+            top.offer(new Ranked(id, score, text.length()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    /**
+     * Walks the documents present in every one of several posting lists, in ascending order, within
+     * {@code [from, to)}. Lists advance by galloping, so long lists cost little next to short ones.
+     */
+    private static final class Intersection {
+        private Postings[] lists;
+        private int[] positions;
+        private final int to;
+        private int next;
+
+        Intersection(List<Postings> lists, int from, int to) {
+            this.lists = lists.toArray(new Postings[0]);
+            Arrays.sort(this.lists, Comparator.comparingInt(Postings::size));
+            this.positions = new int[this.lists.length];
+            for (int i = 0; i < this.lists.length; i++) {
+                positions[i] = advance(this.lists[i], 0, from);
+            }
+            this.to = to;
+            this.next = from;
+        }
+
+        /**
+         * Next document in all lists, or -1 when there is none.
+         */
+        int next() {
+            Postings lead = lists[0];
+            int leadPosition = positions[0];
+            while (leadPosition < lead.size) {
+                int document = lead.documents[leadPosition];
+                if (document >= to) {
+                    break;
+                }
+                int mismatch = -1;
+                for (int i = 1; i < lists.length; i++) {
+                    Postings list = lists[i];
+                    int position = advance(list, positions[i], document);
+                    positions[i] = position;
+                    if (position >= list.size) {
+                        positions[0] = lead.size;
+                        return -1;
+                    }
+                    if (list.documents[position] != document) {
+                        mismatch = list.documents[position];
+                        break;
+                    }
+                }
+                if (mismatch < 0) {
+                    positions[0] = leadPosition + 1;
+                    next = document + 1;
+                    return document;
+                }
+                leadPosition = advance(lead, leadPosition, mismatch);
+            }
+            positions[0] = lead.size;
+            return -1;
+        }
+
+        /**
+         * Adds a list that every further document must also be in.
+         */
+        void require(Postings list) {
+            int position = advance(list, 0, next - 1);
+            int index = 0;
+            while (index < lists.length && lists[index].size <= list.size) {
+                index++;
+            }
+            if (index == 0) {
+                // The new lead starts where the scan currently is
+                position = advance(list, position, next);
+            }
+            Postings[] grownLists = new Postings[lists.length + 1];
+            int[] grownPositions = new int[lists.length + 1];
+            System.arraycopy(lists, 0, grownLists, 0, index);
+            System.arraycopy(positions, 0, grownPositions, 0, index);
+            grownLists[index] = list;
+            grownPositions[index] = position;
+            System.arraycopy(lists, index, grownLists, index + 1, lists.length - index);
+            System.arraycopy(positions, index, grownPositions, index + 1, lists.length - index);
+            lists = grownLists;
+            positions = grownPositions;
+        }
+
+        /**
+         * Whether the document returned last is also in every list added since.
+         */
+        boolean contains(int document) {
+            for (Postings list : lists) {
+                if (Arrays.binarySearch(list.documents, 0, list.size, document) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * First position at or after {@code from} holding a document not below {@code target}.
+         */
+        private static int advance(Postings list, int from, int target) {
+            int bound = 1;
+            while (from + bound < list.size && list.documents[from + bound] < target) {
+                bound <<= 1;
+            }
+            int low = from;
+            int high = Math.min(from + bound + 1, list.size);
+            if (low < high && list.documents[low] >= target) {
+                return low;
+            }
+            int position = Arrays.binarySearch(list.documents, low, high, target);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    /**
+     * Grams stored for a token: its trigrams plus its one- and two-character prefixes.
+     */
+    private static long[] indexGrams(String token) {
+        int trigrams = Math.max(token.length() - 2, 0);
+        long[] grams = new long[trigrams + Math.min(token.length(), 2)];
+        int count = 0;
+        grams[count++] = prefixGram(token, 1);
+        if (token.length() >= 2) {
+            grams[count++] = prefixGram(token, 2);
+        }
+        for (int i = 0; i < trigrams; i++) {
+            grams[count++] = trigram(token, i);
+        }
+        return grams;
+    }
+
+    /**
+     * Grams a query token needs: a prefix gram for short tokens, otherwise all of its trigrams.
+     */
+    private static long[] queryGrams(String token) {
+        if (token.length() < 3) {
+            return new long[]{prefixGram(token, token.length())};
+        }
+        long[] grams = new long[token.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(token, i);
+        }
+        return grams;
+    }
+
+    private static long trigram(String token, int offset) {
+        return 3L << 48 | (long) token.charAt(offset) << 32 | (long) token.charAt(offset + 1) << 16
+                | token.charAt(offset + 2);
+    }
+
+    private static long prefixGram(String token, int length) {
+        long gram = (long) length << 48 | 1L << 56;
+        for (int i = 0; i < length; i++) {
+            gram |= (long) token.charAt(i) << (32 - 16 * i);
+        }
+        return gram;
+    }
+
+    /**
+     * Growable, ascending array of internal document numbers.
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            // A token can repeat a gram ("banana"), and documents are added in increasing order
+            if (size > 0 && documents[size - 1] == document) {
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.quotation.security;
+
+import com.quotation.entity.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * Principal of an authenticated request. Carries the user id and role so that callers can attribute
+ * writes without looking the user up again.
+ */
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final User.Role role;
+
+    public AuthenticatedUser(Long id, String email, String password, User.Role role) {
+        super(email, password, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.id = id;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+}
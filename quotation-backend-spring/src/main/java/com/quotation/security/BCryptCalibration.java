@@ -0,0 +1,32 @@
+package com.quotation.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost whose hash time on this machine is closest to a target. Each step of the cost
+ * doubles the work, so one timed hash at the default cost is enough to extrapolate.
+ */
+final class BCryptCalibration {
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private BCryptCalibration() {
+    }
+
+    static int strengthFor(Duration target) {
+        String salt = BCrypt.gensalt(MIN_STRENGTH);
+        long best = Long.MAX_VALUE;
+        // The first runs include JIT warm-up; the fastest run is the closest to steady state
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double steps = Math.log((double) target.toNanos() / best) / Math.log(2);
+        int strength = MIN_STRENGTH + (int) Math.round(steps);
+        return Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, strength));
+    }
+}
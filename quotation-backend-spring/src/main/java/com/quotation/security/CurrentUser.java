@@ -0,0 +1,41 @@
+package com.quotation.security;
+
+import com.quotation.entity.User;
+import com.quotation.exception.ResourceNotFoundException;
+import com.quotation.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Access to the user of the current request.
+ */
+@Component
+public class CurrentUser {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public Long getId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+    }
+
+    /**
+     * Reference to the current user for {@code createdBy} associations; does not load the row.
+     */
+    public User getReference() {
+        return userRepository.getReferenceById(getId());
+    }
+}
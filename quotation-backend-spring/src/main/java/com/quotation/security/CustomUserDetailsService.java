@@ -3,24 +3,46 @@ package com.quotation.security;
 import com.quotation.entity.User;
 import com.quotation.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
-
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     @Transactional
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        if (!user.getIsActive()) {
+            throw new UsernameNotFoundException("User account is inactive");
+        }
+
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    /**
+     * Principal for a request that already carries a verified token. Served from {@link PrincipalCache}
+     * when possible; the cached copy holds no password hash.
+     */
+    public AuthenticatedUser loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+        AuthenticatedUser cached = principalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = principalCache.generation();
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -28,10 +50,20 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User account is inactive");
         }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        principalCache.put(email, principal, generation);
+        return principal;
+    }
+
+    /**
+     * Stores a password rehashed at the current BCrypt cost after a successful login.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        AuthenticatedUser authenticated = (AuthenticatedUser) user;
+        return new AuthenticatedUser(authenticated.getId(), authenticated.getUsername(), newPassword,
+                authenticated.getRole());
     }
 }
@@ -0,0 +1,35 @@
+package com.quotation.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT signing configuration. New tokens are signed with the key named by {@code signingKeyId} and carry
+ * it as their {@code kid} header; tokens without a {@code kid} are verified against {@code secret}.
+ * To rotate, add the new key, point {@code signingKeyId} at it and remove the old key once tokens
+ * signed with it have expired.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /** Key for tokens without a kid, and the signing key while no signingKeyId is set. */
+    private String secret;
+
+    /** Access token lifetime in milliseconds. */
+    private long expiration;
+
+    /** Lifetime of refresh tokens, which are exchanged for new access tokens. */
+    private Duration refreshExpiration = Duration.ofDays(30);
+
+    /** Verification keys by kid. */
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    private String signingKeyId;
+}
@@ -2,58 +2,115 @@ package com.quotation.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    @Autowired
+    private JwtProperties properties;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private SecretKey defaultKey;
+    private Map<String, SecretKey> keysById;
+    private String signingKeyId;
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * Derives all keys once and builds a single parser; both are immutable and shared by all requests.
+     */
+    @PostConstruct
+    void init() {
+        defaultKey = StringUtils.hasText(properties.getSecret()) ? hmacKey(properties.getSecret()) : null;
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        properties.getKeys().forEach((id, secret) -> keys.put(id, hmacKey(secret)));
+        keysById = Map.copyOf(keys);
+
+        signingKeyId = StringUtils.hasText(properties.getSigningKeyId()) ? properties.getSigningKeyId() : null;
+        signingKey = signingKeyId != null ? keysById.get(signingKeyId) : defaultKey;
+        if (signingKey == null) {
+            throw new IllegalStateException(signingKeyId != null
+                    ? "jwt.signing-key-id '" + signingKeyId + "' has no matching jwt.keys entry"
+                    : "jwt.secret is not set");
+        }
+
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SecretKey verificationKey(String keyId) {
+        SecretKey key = keyId == null ? defaultKey : keysById.get(keyId);
+        if (key == null) {
+            throw new MalformedJwtException(keyId == null ? "Token has no key id" : "Unknown key id: " + keyId);
+        }
+        return key;
     }
 
     public String generateToken(Authentication authentication) {
         String email = authentication.getName();
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        Date expiryDate = new Date(now.getTime() + properties.getExpiration());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (signingKeyId != null) {
+            builder.header().keyId(signingKeyId).and();
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLE_CLAIM, user.getRole().name());
+        }
+        return builder
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     public boolean validateToken(String token) {
+        return getClaimsIfValid(token) != null;
+    }
+
+    /**
+     * Verifies the token and returns its claims in a single parse, or {@code null} if the token is
+     * invalid or expired.
+     */
+    public Claims getClaimsIfValid(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
 }
@@ -0,0 +1,108 @@
+package com.quotation.security;
+
+import com.quotation.exception.ServiceBusyException;
+import com.quotation.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Guards password hashing on login and registration. Each client address has a token bucket that
+ * every attempt draws from, and each account has one per client address that only failed logins draw
+ * from. Both are checked before any hashing happens. Keying failures on the account alone would let
+ * anyone who knows an email address lock its owner out indefinitely; per address, the owner's own
+ * attempts are unaffected, and guessing from many addresses is still bounded by their address buckets. Attempts that get through share a fixed number of permits so a
+ * burst cannot occupy every core; an attempt that waits longer than the queue timeout is turned away.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${security.login.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${security.login.queue-timeout:2s}")
+    private Duration queueTimeout;
+
+    @Value("${security.login.per-address.capacity:20}")
+    private int addressCapacity;
+
+    @Value("${security.login.per-address.refill-per-minute:20}")
+    private int addressRefillPerMinute;
+
+    @Value("${security.login.per-account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${security.login.per-account.refill-per-minute:5}")
+    private int accountRefillPerMinute;
+
+    private Semaphore permits;
+    private final ConcurrentHashMap<String, TokenBucket> addressBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        int limit = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        permits = new Semaphore(limit, true);
+    }
+
+    /**
+     * Runs a password check for {@code account} (null for registration) requested from {@code address}.
+     */
+    public <T> T run(String account, String address, Supplier<T> attempt) {
+        TokenBucket addressBucket = addressBuckets.computeIfAbsent(address,
+                key -> new TokenBucket(addressCapacity, addressRefillPerMinute));
+        if (!addressBucket.tryConsume()) {
+            throw new TooManyRequestsException("Too many attempts, try again later",
+                    addressBucket.secondsUntilToken());
+        }
+
+        String accountKey = account != null ? account.toLowerCase(Locale.ROOT) + '\n' + address : null;
+        TokenBucket accountBucket = accountKey != null ? accountBuckets.get(accountKey) : null;
+        if (accountBucket != null && !accountBucket.hasToken()) {
+            throw new TooManyRequestsException("Too many failed attempts for this account, try again later",
+                    accountBucket.secondsUntilToken());
+        }
+
+        acquire();
+        try {
+            return attempt.get();
+        } catch (AuthenticationException e) {
+            if (accountKey != null) {
+                accountBuckets.computeIfAbsent(accountKey,
+                        key -> new TokenBucket(accountCapacity, accountRefillPerMinute)).tryConsume();
+            }
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Too many sign-in requests in progress", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Sign-in was interrupted", 1);
+        }
+    }
+
+    /**
+     * Forgets buckets that have refilled completely; they behave exactly like a fresh bucket.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void prune() {
+        addressBuckets.values().removeIf(TokenBucket::isFull);
+        accountBuckets.values().removeIf(TokenBucket::isFull);
+    }
+}
@@ -0,0 +1,97 @@
+package com.quotation.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of authenticated principals keyed by token subject, so that requests carrying a
+ * valid JWT do not need a user lookup each. Entries are dropped when the user row changes and expire
+ * after {@code security.principal-cache.ttl} in any case, which bounds how long a change made by
+ * another instance can go unnoticed.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${security.principal-cache.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private record Entry(AuthenticatedUser principal, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AuthenticatedUser get(String subject) {
+        Entry entry = entries.get(subject);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(subject, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    /**
+     * Taken before reading the user row that is passed to {@link #put}.
+     */
+    public long generation() {
+        return evictions.get();
+    }
+
+    /**
+     * Caches {@code principal} unless a user was evicted since {@code generation} was taken: the row it was
+     * built from may be the one the eviction was for.
+     */
+    public void put(String subject, AuthenticatedUser principal, long generation) {
+        if (ttl.isZero() || maxSize <= 0 || evictions.get() != generation) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(subject)) {
+            makeRoom();
+        }
+        Entry entry = new Entry(principal, System.nanoTime() + ttl.toNanos());
+        entries.put(subject, entry);
+        // An eviction between the check above and the put may have missed this entry
+        if (evictions.get() != generation) {
+            entries.remove(subject, entry);
+        }
+    }
+
+    /**
+     * Drops every principal of the given user. Matching on the id rather than the subject also
+     * covers a changed email address.
+     */
+    public void evictUser(Long userId) {
+        evictions.incrementAndGet();
+        entries.values().removeIf(entry -> entry.principal().getId().equals(userId));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
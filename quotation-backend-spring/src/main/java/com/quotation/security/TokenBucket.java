@@ -0,0 +1,51 @@
+package com.quotation.security;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens, refilled continuously at {@code refillPerMinute}.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, int refillPerMinute) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60e9;
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    synchronized boolean tryConsume() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized boolean hasToken() {
+        refill();
+        return tokens >= 1;
+    }
+
+    synchronized boolean isFull() {
+        refill();
+        return tokens >= capacity;
+    }
+
+    /** Seconds until the next token is available, at least one. */
+    synchronized long secondsUntilToken() {
+        refill();
+        double missing = Math.max(0, 1 - tokens);
+        return Math.max(1, (long) Math.ceil(missing / tokensPerNano / 1e9));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,83 @@
+package com.quotation.security;
+
+import com.quotation.entity.RevokedToken;
+import com.quotation.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens revoked before they expire, kept in memory so the request path never queries the
+ * database. A bloom filter answers the common "not revoked" case; only its rare positives consult the
+ * exact set. Loaded from {@code revoked_tokens} at startup and topped up periodically with rows written
+ * by other instances.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.denylist.expected-entries:100000}")
+    private int expectedEntries;
+
+    private final ConcurrentHashMap<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private long lastSeenId;
+
+    @PostConstruct
+    void load() {
+        filter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        sync();
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || expiresAt.isBefore(LocalDateTime.now()) || revoked.containsKey(jti)) {
+            return;
+        }
+        RevokedToken token = new RevokedToken();
+        token.setJti(jti);
+        token.setExpiresAt(expiresAt);
+        revokedTokenRepository.save(token);
+        add(jti, expiresAt);
+    }
+
+    /**
+     * Picks up revocations from other instances, forgets tokens that have expired and deletes their rows.
+     */
+    @Scheduled(initialDelayString = "${jwt.denylist.refresh-interval-ms:60000}",
+            fixedDelayString = "${jwt.denylist.refresh-interval-ms:60000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> added = revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfter(lastSeenId, now);
+        for (RevokedToken token : added) {
+            add(token.getJti(), token.getExpiresAt());
+            lastSeenId = Math.max(lastSeenId, token.getId());
+        }
+
+        if (revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+            // Bloom filters cannot forget entries, so rebuild from what is left
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    private synchronized void add(String jti, LocalDateTime expiresAt) {
+        filter.add(jti);
+        revoked.put(jti, expiresAt);
+    }
+}
@@ -0,0 +1,36 @@
+package com.quotation.security;
+
+import com.quotation.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts cached principals when a user is updated or deleted, so deactivation and role changes take
+ * effect on the next request. The callbacks run at flush, before the change is committed; a request in
+ * between still reads the old row, so the user is evicted again once the transaction has committed.
+ */
+@Component
+public class UserChangeListener {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        Long userId = user.getId();
+        principalCache.evictUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.evictUser(userId);
+                }
+            });
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.quotation.service;
 
 import com.quotation.dto.JwtResponse;
 import com.quotation.dto.LoginRequest;
+import com.quotation.dto.RefreshTokenRequest;
 import com.quotation.dto.RegisterRequest;
 import com.quotation.entity.User;
 import com.quotation.repository.UserRepository;
+import com.quotation.security.AuthenticatedUser;
+import com.quotation.security.JwtProperties;
 import com.quotation.security.JwtTokenProvider;
+import com.quotation.security.LoginThrottle;
+import com.quotation.security.TokenDenylist;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +20,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 public class AuthService {
 
@@ -29,7 +38,19 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
-    public JwtResponse register(RegisterRequest request) {
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    public JwtResponse register(RegisterRequest request, String clientAddress) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
@@ -37,34 +58,66 @@ public class AuthService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(loginThrottle.run(null, clientAddress,
+                () -> passwordEncoder.encode(request.getPassword())));
         user.setRole(User.Role.USER);
         user.setIsActive(true);
 
         userRepository.save(user);
 
-        // Auto login after registration
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        // Auto login after registration; the password was just hashed, so there is nothing to verify
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtTokenProvider.generateToken(authentication);
-
-        return new JwtResponse(token, "Bearer", user.getEmail(), user.getName());
+        return createResponse(authentication, user);
     }
 
-    public JwtResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+    public JwtResponse login(LoginRequest request, String clientAddress) {
+        Authentication authentication = loginThrottle.run(request.getEmail(), clientAddress,
+                () -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+                ));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtTokenProvider.generateToken(authentication);
 
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        return new JwtResponse(token, "Bearer", user.getEmail(), user.getName());
+        return createResponse(authentication, user);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     */
+    public JwtResponse refresh(RefreshTokenRequest request) {
+        User user = refreshTokenService.exchange(request.getRefreshToken());
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
+        return createResponse(authentication, user);
+    }
+
+    /**
+     * Revokes the refresh token and, when the request carries one, the access token it was sent with.
+     */
+    public void logout(RefreshTokenRequest request, Authentication authentication) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        if (authentication != null && authentication.getCredentials() instanceof String accessToken) {
+            Claims claims = jwtTokenProvider.getClaimsIfValid(accessToken);
+            if (claims != null) {
+                tokenDenylist.revoke(claims.getId(),
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            }
+        }
+    }
+
+    private JwtResponse createResponse(Authentication authentication, User user) {
+        JwtResponse response = new JwtResponse(jwtTokenProvider.generateToken(authentication), "Bearer",
+                user.getEmail(), user.getName());
+        response.setRefreshToken(refreshTokenService.issue(user.getId()));
+        response.setExpiresIn(jwtProperties.getExpiration() / 1000);
+        return response;
     }
 }
\ No newline at end of file
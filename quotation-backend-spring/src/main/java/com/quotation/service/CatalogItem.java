@@ -0,0 +1,57 @@
+package com.quotation.service;
+
+import com.quotation.entity.Category;
+import com.quotation.entity.Item;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an item and its category as held by {@link ItemCatalog}.
+ */
+public record CatalogItem(
+        Long id,
+        String name,
+        BigDecimal price,
+        String description,
+        String hsnCode,
+        Integer gstRate,
+        String unit,
+        Boolean isActive,
+        CatalogCategory category,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public record CatalogCategory(Long id, String name, String description, Integer gstRate) {
+
+        static CatalogCategory of(Category category) {
+            return new CatalogCategory(category.getId(), category.getName(), category.getDescription(),
+                    category.getGstRate());
+        }
+    }
+
+    /**
+     * The item's category must already be initialized.
+     */
+    static CatalogItem of(Item item) {
+        return of(item, CatalogCategory.of(item.getCategory()));
+    }
+
+    static CatalogItem of(Item item, CatalogCategory category) {
+        return new CatalogItem(item.getId(), item.getName(), item.getPrice(), item.getDescription(),
+                item.getHsnCode(), item.getGstRate(), item.getUnit(), item.getIsActive(), category,
+                item.getCreatedAt(), item.getUpdatedAt());
+    }
+
+    CatalogItem withCategory(CatalogCategory category) {
+        return new CatalogItem(id, name, price, description, hsnCode, gstRate, unit, isActive, category,
+                createdAt, updatedAt);
+    }
+
+    /**
+     * The item's own GST slab, else its category's; null when neither sets one.
+     */
+    public Integer effectiveGstRate() {
+        return gstRate != null ? gstRate : category.gstRate();
+    }
+}
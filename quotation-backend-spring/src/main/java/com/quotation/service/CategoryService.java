@@ -1,28 +1,50 @@
 package com.quotation.service;
 
+import com.quotation.dto.CategoryOption;
 import com.quotation.dto.CategoryRequest;
 import com.quotation.dto.CategoryResponse;
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.PageResponse;
 import com.quotation.entity.Category;
 import com.quotation.entity.User;
 import com.quotation.exception.ResourceNotFoundException;
 import com.quotation.repository.CategoryRepository;
-import com.quotation.repository.UserRepository;
+import com.quotation.repository.NameCursor;
+import com.quotation.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CategoryService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "createdAt", "updatedAt", "id");
+
     @Autowired
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Value("${listings.options.default-size:50}")
+    private int defaultOptionSize;
+
+    @Value("${listings.options.max-size:200}")
+    private int maxOptionSize;
 
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
@@ -30,6 +52,27 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<CategoryResponse> getCategoryPage(Pageable pageable) {
+        Slice<Category> slice = categoryRepository.findSliceBy(Listings.sorted(pageable, SORTABLE, Sort.by("name")));
+        return PageResponse.of(slice.map(this::convertToResponse));
+    }
+
+    /**
+     * Lightweight picker rows ordered by name, keyset-paginated so deep pages cost the same as the first.
+     */
+    public CursorPageResponse<CategoryOption> getCategoryOptions(String cursor, Integer size) {
+        int pageSize = Listings.pageSize(size, defaultOptionSize, maxOptionSize);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<CategoryOption> rows;
+        if (cursor == null) {
+            rows = categoryRepository.findOptions(limit);
+        } else {
+            NameCursor after = NameCursor.decode(cursor);
+            rows = categoryRepository.findOptionsAfter(after.name(), after.id(), limit);
+        }
+        return Listings.keysetPage(rows, pageSize, option -> new NameCursor(option.name(), option.id()));
+    }
+
     public CategoryResponse getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
@@ -37,25 +80,31 @@ public class CategoryService {
     }
 
     public CategoryResponse createCategory(CategoryRequest request) {
-        User currentUser = getCurrentUser();
+        taxEngine.validateRate(request.getGstRate());
+        User createdBy = currentUser.getReference();
 
         Category category = new Category();
         category.setName(request.getName());
         category.setDescription(request.getDescription());
-        category.setCreatedBy(currentUser);
+        category.setGstRate(request.getGstRate());
+        category.setCreatedBy(createdBy);
 
         Category saved = categoryRepository.save(category);
+        itemCatalog.putCategory(saved);
         return convertToResponse(saved);
     }
 
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
+        taxEngine.validateRate(request.getGstRate());
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
 
         category.setName(request.getName());
         category.setDescription(request.getDescription());
+        category.setGstRate(request.getGstRate());
 
         Category updated = categoryRepository.save(category);
+        itemCatalog.putCategory(updated);
         return convertToResponse(updated);
     }
 
@@ -63,6 +112,7 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         categoryRepository.delete(category);
+        itemCatalog.removeCategory(id);
     }
 
     private CategoryResponse convertToResponse(Category category) {
@@ -70,15 +120,9 @@ public class CategoryService {
         response.setId(category.getId());
         response.setName(category.getName());
         response.setDescription(category.getDescription());
+        response.setGstRate(category.getGstRate());
         response.setCreatedAt(category.getCreatedAt());
         response.setUpdatedAt(category.getUpdatedAt());
         return response;
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-    }
 }
@@ -0,0 +1,295 @@
+package com.quotation.service;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable map from a {@code long} id to a value, kept in id order and split into chunks of
+ * {@link #CHUNK_SPAN} consecutive ids. An update copies only the chunks it touches and the chunk directory,
+ * and shares every other chunk with the previous map, so changing one entry of n costs
+ * O(CHUNK_SPAN + n / CHUNK_SPAN) instead of a full copy. Lookups are two binary searches.
+ */
+final class ChunkedIdMap<V> {
+
+    static final int CHUNK_SPAN = 1024;
+
+    private static final ChunkedIdMap<?> EMPTY = new ChunkedIdMap<>(new long[0], new Chunk[0]);
+
+    private record Chunk(long[] ids, Object[] values) {
+    }
+
+    // Chunk i holds the ids in [chunkKeys[i] * CHUNK_SPAN, (chunkKeys[i] + 1) * CHUNK_SPAN); chunks are never empty
+    private final long[] chunkKeys;
+    private final Chunk[] chunks;
+    // Position of the first value of each chunk in id order
+    private final int[] offsets;
+    private final int size;
+
+    private ChunkedIdMap(long[] chunkKeys, Chunk[] chunks) {
+        this.chunkKeys = chunkKeys;
+        this.chunks = chunks;
+        this.offsets = new int[chunks.length];
+        int count = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            offsets[i] = count;
+            count += chunks[i].ids().length;
+        }
+        this.size = count;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> ChunkedIdMap<V> empty() {
+        return (ChunkedIdMap<V>) EMPTY;
+    }
+
+    static <V> ChunkedIdMap<V> of(Map<Long, V> entries) {
+        return ChunkedIdMap.<V>empty().apply(new TreeMap<>(entries));
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long id) {
+        int chunk = Arrays.binarySearch(chunkKeys, chunkKey(id));
+        if (chunk < 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(chunks[chunk].ids(), id);
+        return index < 0 ? null : (V) chunks[chunk].values()[index];
+    }
+
+    ChunkedIdMap<V> with(long id, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        SortedMap<Long, V> change = new TreeMap<>();
+        change.put(id, value);
+        return apply(change);
+    }
+
+    ChunkedIdMap<V> without(long id) {
+        if (get(id) == null) {
+            return this;
+        }
+        SortedMap<Long, V> change = new TreeMap<>();
+        change.put(id, null);
+        return apply(change);
+    }
+
+    /**
+     * A copy with every change applied: a non-null value adds or replaces its id, a null value removes it.
+     */
+    ChunkedIdMap<V> apply(SortedMap<Long, V> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        long[] changeIds = new long[changes.size()];
+        Object[] changeValues = new Object[changes.size()];
+        int n = 0;
+        for (Map.Entry<Long, V> change : changes.entrySet()) {
+            changeIds[n] = change.getKey();
+            changeValues[n++] = change.getValue();
+        }
+
+        List<Long> keys = new ArrayList<>(chunks.length + 1);
+        List<Chunk> merged = new ArrayList<>(chunks.length + 1);
+        int existing = 0;
+        int from = 0;
+        while (from < n) {
+            long key = chunkKey(changeIds[from]);
+            int to = from + 1;
+            while (to < n && chunkKey(changeIds[to]) == key) {
+                to++;
+            }
+            // Untouched chunks before this one are shared as they are
+            while (existing < chunks.length && chunkKeys[existing] < key) {
+                keys.add(chunkKeys[existing]);
+                merged.add(chunks[existing++]);
+            }
+            Chunk current = null;
+            if (existing < chunks.length && chunkKeys[existing] == key) {
+                current = chunks[existing++];
+            }
+            Chunk updated = merge(current, changeIds, changeValues, from, to);
+            if (updated != null) {
+                keys.add(key);
+                merged.add(updated);
+            }
+            from = to;
+        }
+        while (existing < chunks.length) {
+            keys.add(chunkKeys[existing]);
+            merged.add(chunks[existing++]);
+        }
+        return new ChunkedIdMap<>(keys.stream().mapToLong(Long::longValue).toArray(), merged.toArray(new Chunk[0]));
+    }
+
+    /**
+     * Values in id order; a read-only view that shares the chunks.
+     */
+    List<V> values() {
+        return new Values();
+    }
+
+    /**
+     * Read-only {@link Map} view for callers that need one.
+     */
+    Map<Long, V> asMap() {
+        return new MapView();
+    }
+
+    private static long chunkKey(long id) {
+        return Math.floorDiv(id, CHUNK_SPAN);
+    }
+
+    /**
+     * Merges the sorted changes {@code [from, to)} into {@code chunk}; null when nothing is left.
+     */
+    private static Chunk merge(Chunk chunk, long[] changeIds, Object[] changeValues, int from, int to) {
+        long[] ids = chunk == null ? new long[0] : chunk.ids();
+        Object[] values = chunk == null ? new Object[0] : chunk.values();
+        long[] mergedIds = new long[ids.length + (to - from)];
+        Object[] mergedValues = new Object[mergedIds.length];
+        int count = 0;
+        int i = 0;
+        int c = from;
+        while (i < ids.length || c < to) {
+            if (c == to || (i < ids.length && ids[i] < changeIds[c])) {
+                mergedIds[count] = ids[i];
+                mergedValues[count++] = values[i++];
+                continue;
+            }
+            if (i < ids.length && ids[i] == changeIds[c]) {
+                i++;
+            }
+            if (changeValues[c] != null) {
+                mergedIds[count] = changeIds[c];
+                mergedValues[count++] = changeValues[c];
+            }
+            c++;
+        }
+        if (count == 0) {
+            return null;
+        }
+        return new Chunk(Arrays.copyOf(mergedIds, count), Arrays.copyOf(mergedValues, count));
+    }
+
+    private final class Values extends AbstractList<V> implements RandomAccess {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int chunk = Arrays.binarySearch(offsets, index);
+            if (chunk < 0) {
+                chunk = -chunk - 2;
+            }
+            return (V) chunks[chunk].values()[index - offsets[chunk]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<>() {
+                private int chunk;
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return chunk < chunks.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Object[] values = chunks[chunk].values();
+                    V value = (V) values[index++];
+                    if (index == values.length) {
+                        chunk++;
+                        index = 0;
+                    }
+                    return value;
+                }
+            };
+        }
+    }
+
+    private final class MapView extends AbstractMap<Long, V> {
+
+        @Override
+        public V get(Object key) {
+            return key instanceof Long id ? ChunkedIdMap.this.get(id) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<Long, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<Long, V>> iterator() {
+                    return new Iterator<>() {
+                        private int chunk;
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return chunk < chunks.length;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<Long, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Chunk current = chunks[chunk];
+                            Entry<Long, V> entry = new SimpleImmutableEntry<>(current.ids()[index],
+                                    (V) current.values()[index]);
+                            if (++index == current.ids().length) {
+                                chunk++;
+                                index = 0;
+                            }
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.quotation.service;
+
+import com.quotation.dto.CustomerSearchEntry;
+import com.quotation.entity.Customer;
+import com.quotation.repository.CustomerRepository;
+import com.quotation.search.TextIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory lookup of customers by name, phone number or GSTIN, loaded at startup and kept current by
+ * {@link CustomerService}.
+ * <p>
+ * Names are indexed by token. Phone numbers are reduced to their digits, so "+91 98765-43210" and
+ * "9876543210" match the same queries, and any run of three or more digits (typically the last few)
+ * finds the number. A query mixing words and numbers, such as "ravi 98765", must match both: its words
+ * against the name and its numbers against the phone. A query that is a complete GSTIN is answered from
+ * an exact-match map.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Pattern GSTIN = Pattern.compile("\\d{2}[A-Z]{5}\\d{4}[A-Z][1-9A-Z]Z[0-9A-Z]");
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final TextIndex names = new TextIndex();
+    private final TextIndex phones = new TextIndex();
+    private final Map<String, Set<Long>> idsByGst = new ConcurrentHashMap<>();
+    private final Map<Long, CustomerSearchEntry> entries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        List<CustomerSearchEntry> loaded = customerRepository.findAllSearchEntries();
+        Map<Long, String> nameDocuments = new HashMap<>(loaded.size());
+        Map<Long, String> phoneDocuments = new HashMap<>(loaded.size());
+        for (CustomerSearchEntry entry : loaded) {
+            nameDocuments.put(entry.id(), entry.name());
+            phoneDocuments.put(entry.id(), digits(entry.phone()));
+            addGst(entry);
+            entries.put(entry.id(), entry);
+        }
+        names.reset(nameDocuments);
+        phones.reset(phoneDocuments);
+    }
+
+    /**
+     * Picks up changes made by other instances; only customers that actually changed are re-indexed.
+     */
+    @Scheduled(initialDelayString = "${customers.search.refresh-interval-ms:300000}",
+            fixedDelayString = "${customers.search.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        Map<Long, CustomerSearchEntry> current = new HashMap<>();
+        for (CustomerSearchEntry entry : customerRepository.findAllSearchEntries()) {
+            current.put(entry.id(), entry);
+            if (!entry.equals(entries.get(entry.id()))) {
+                index(entry);
+            }
+        }
+        for (Long id : new ArrayList<>(entries.keySet())) {
+            if (!current.containsKey(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    public synchronized void put(Customer customer) {
+        index(new CustomerSearchEntry(customer.getId(), customer.getName(), customer.getPhone(), customer.getGst()));
+    }
+
+    public synchronized void remove(Long id) {
+        CustomerSearchEntry removed = entries.remove(id);
+        if (removed != null) {
+            names.remove(id);
+            phones.remove(id);
+            removeGst(removed);
+        }
+    }
+
+    /**
+     * Ids of the best {@code limit} matches, best first.
+     */
+    public List<Long> search(String query, int limit) {
+        String gst = normalizeGst(query);
+        if (GSTIN.matcher(gst).matches()) {
+            return idsByGst.getOrDefault(gst, Set.of()).stream()
+                    .sorted()
+                    .limit(limit)
+                    .toList();
+        }
+
+        StringBuilder words = new StringBuilder();
+        StringBuilder numbers = new StringBuilder();
+        for (String token : query.trim().split("\\s+")) {
+            boolean hasLetters = token.chars().anyMatch(Character::isLetter);
+            (hasLetters ? words : numbers).append(token).append(' ');
+        }
+        String phoneDigits = digits(numbers.toString());
+        List<TextIndex.Hit> hits;
+        if (words.isEmpty()) {
+            hits = phones.search(phoneDigits, null, limit);
+        } else if (phoneDigits.isEmpty()) {
+            hits = names.search(words.toString(), null, limit);
+        } else {
+            hits = names.search(words.toString(), id -> phoneMatches(id, phoneDigits), limit);
+        }
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (TextIndex.Hit hit : hits) {
+            ids.add(hit.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Same rule as the phone index: three or more digits match anywhere in the number, fewer match its start.
+     */
+    private boolean phoneMatches(long id, String queryDigits) {
+        CustomerSearchEntry entry = entries.get(id);
+        if (entry == null) {
+            return false;
+        }
+        String phone = digits(entry.phone());
+        return queryDigits.length() >= 3 ? phone.contains(queryDigits) : phone.startsWith(queryDigits);
+    }
+
+    private void index(CustomerSearchEntry entry) {
+        CustomerSearchEntry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            removeGst(previous);
+        }
+        if (previous == null || !Objects.equals(previous.name(), entry.name())) {
+            names.put(entry.id(), entry.name());
+        }
+        if (previous == null || !Objects.equals(previous.phone(), entry.phone())) {
+            phones.put(entry.id(), digits(entry.phone()));
+        }
+        addGst(entry);
+    }
+
+    private void addGst(CustomerSearchEntry entry) {
+        if (entry.gst() != null && !entry.gst().isBlank()) {
+            idsByGst.computeIfAbsent(normalizeGst(entry.gst()), key -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+    }
+
+    private void removeGst(CustomerSearchEntry entry) {
+        if (entry.gst() != null && !entry.gst().isBlank()) {
+            idsByGst.computeIfPresent(normalizeGst(entry.gst()), (key, ids) -> {
+                ids.remove(entry.id());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static String normalizeGst(String gst) {
+        return gst.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static String digits(String phone) {
+        return phone == null ? "" : phone.replaceAll("\\D", "");
+    }
+}
@@ -1,58 +1,149 @@
 package com.quotation.service;
 
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.CustomerOption;
 import com.quotation.dto.CustomerRequest;
 import com.quotation.dto.CustomerResponse;
+import com.quotation.dto.CustomerSearchResponse;
+import com.quotation.dto.CustomerSummaryResponse;
+import com.quotation.dto.PageResponse;
 import com.quotation.entity.Customer;
 import com.quotation.entity.User;
 import com.quotation.exception.ResourceNotFoundException;
+import com.quotation.repository.CustomerOrderSummaryRepository;
 import com.quotation.repository.CustomerRepository;
-import com.quotation.repository.UserRepository;
+import com.quotation.repository.NameCursor;
+import com.quotation.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "phone", "createdAt", "updatedAt", "id");
+
     @Autowired
     private CustomerRepository customerRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CustomerOrderSummaryRepository customerOrderSummaryRepository;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Value("${customers.search.max-size:100}")
+    private int maxSearchSize;
+
+    @Value("${customers.search.max-offset:1000}")
+    private int maxSearchOffset;
+
+    @Value("${listings.options.default-size:50}")
+    private int defaultOptionSize;
+
+    @Value("${listings.options.max-size:200}")
+    private int maxOptionSize;
 
     public List<CustomerResponse> getAllCustomers(String search) {
-        List<Customer> customers;
         if (search != null && !search.isEmpty()) {
-            customers = customerRepository.findByNameContainingIgnoreCaseOrPhoneContaining(search, search);
-        } else {
-            customers = customerRepository.findAll();
+            return loadInOrder(customerSearchIndex.search(search, maxSearchSize));
         }
-        return customers.stream()
+        return customerRepository.findAll().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of ranked matches by name, phone digits or exact GSTIN.
+     */
+    public CustomerSearchResponse searchCustomers(String query, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        int pageSize = Math.min(Math.max(size, 1), maxSearchSize);
+        if ((long) page * pageSize > maxSearchOffset) {
+            throw new IllegalArgumentException("Search results can only be paged through the first "
+                    + maxSearchOffset + " matches; refine the query");
+        }
+        int offset = page * pageSize;
+
+        // One extra hit tells whether another page exists
+        List<Long> ids = customerSearchIndex.search(query, offset + pageSize + 1);
+        List<Long> pageIds = ids.subList(Math.min(offset, ids.size()), Math.min(offset + pageSize, ids.size()));
+        return new CustomerSearchResponse(loadInOrder(pageIds), page, pageSize, ids.size() > offset + pageSize);
+    }
+
+    public PageResponse<CustomerResponse> getCustomerPage(Pageable pageable) {
+        Slice<Customer> slice = customerRepository.findSliceBy(Listings.sorted(pageable, SORTABLE, Sort.by("name")));
+        return PageResponse.of(slice.map(this::convertToResponse));
+    }
+
+    /**
+     * Lightweight picker rows ordered by name, keyset-paginated so deep pages cost the same as the first.
+     */
+    public CursorPageResponse<CustomerOption> getCustomerOptions(String cursor, Integer size) {
+        int pageSize = Listings.pageSize(size, defaultOptionSize, maxOptionSize);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<CustomerOption> rows;
+        if (cursor == null) {
+            rows = customerRepository.findOptions(limit);
+        } else {
+            NameCursor after = NameCursor.decode(cursor);
+            rows = customerRepository.findOptionsAfter(after.name(), after.id(), limit);
+        }
+        return Listings.keysetPage(rows, pageSize, option -> new NameCursor(option.name(), option.id()));
+    }
+
     public CustomerResponse getCustomerById(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
         return convertToResponse(customer);
     }
 
+    public CustomerSummaryResponse getCustomerSummary(Long id) {
+        if (!customerRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Customer", "id", id);
+        }
+        CustomerSummaryResponse response = new CustomerSummaryResponse();
+        response.setCustomerId(id);
+        response.setTotalBilled(BigDecimal.ZERO);
+        response.setOutstandingValue(BigDecimal.ZERO);
+        customerOrderSummaryRepository.findById(id).ifPresent(summary -> {
+            response.setOrderCount(summary.getOrderCount());
+            response.setTotalBilled(summary.getTotalBilled());
+            response.setOutstandingValue(summary.getOutstandingValue());
+            response.setLastOrderDate(summary.getLastOrderDate());
+        });
+        return response;
+    }
+
     public CustomerResponse createCustomer(CustomerRequest request) {
-        User currentUser = getCurrentUser();
+        User createdBy = currentUser.getReference();
 
         Customer customer = new Customer();
         customer.setName(request.getName());
         customer.setPhone(request.getPhone());
         customer.setGst(request.getGst());
         customer.setAddress(request.getAddress());
-        customer.setCreatedBy(currentUser);
+        customer.setCreatedBy(createdBy);
 
         Customer saved = customerRepository.save(customer);
+        customerSearchIndex.put(saved);
         return convertToResponse(saved);
     }
 
@@ -66,6 +157,7 @@ public class CustomerService {
         customer.setAddress(request.getAddress());
 
         Customer updated = customerRepository.save(customer);
+        customerSearchIndex.put(updated);
         return convertToResponse(updated);
     }
 
@@ -73,6 +165,17 @@ public class CustomerService {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
         customerRepository.delete(customer);
+        customerSearchIndex.remove(id);
+    }
+
+    private List<CustomerResponse> loadInOrder(List<Long> ids) {
+        Map<Long, Customer> customers = customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        return ids.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
     }
 
     private CustomerResponse convertToResponse(Customer customer) {
@@ -86,11 +189,4 @@ public class CustomerService {
         response.setUpdatedAt(customer.getUpdatedAt());
         return response;
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-    }
 }
@@ -0,0 +1,357 @@
+package com.quotation.service;
+
+import com.quotation.dto.DocumentJobRequest;
+import com.quotation.dto.DocumentJobResponse;
+import com.quotation.dto.OrderResponse;
+import com.quotation.exception.ResourceNotFoundException;
+import com.quotation.exception.ServiceBusyException;
+import com.quotation.repository.OrderRepository;
+import com.quotation.security.CurrentUser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders receipts for many orders in the background and packs them into a ZIP archive on local disk.
+ * Jobs run on a fixed worker pool with a bounded queue; when the queue is full new jobs are refused
+ * instead of piling up. Job state lives in memory, so archives do not survive a restart.
+ * <p>
+ * A job is only visible to the user who submitted it. An archive that is cancelled or expires while it is
+ * being downloaded is deleted once the last download closes it.
+ */
+@Service
+public class DocumentJobService {
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    /**
+     * An open archive; closing {@code content} ends the download.
+     */
+    public record Archive(InputStream content, long size) {
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReceiptRenderer receiptRenderer;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Value("${documents.jobs.workers:2}")
+    private int workers;
+
+    @Value("${documents.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${documents.jobs.max-orders:2000}")
+    private int maxOrders;
+
+    @Value("${documents.jobs.dir:${java.io.tmpdir}/quotation-documents}")
+    private String directoryName;
+
+    @Value("${documents.jobs.retention:24h}")
+    private Duration retention;
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, DocumentJob> jobs = new ConcurrentHashMap<>();
+    private Path directory;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        directory = Path.of(directoryName);
+        Files.createDirectories(directory);
+        // Archives from a previous run can no longer be looked up, so they are only taking space
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".zip") || name.endsWith(".zip.part")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        // The worker count still bounds rendering; virtual workers just stop holding a platform thread while blocked
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("document-job-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("document-job-");
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public DocumentJobResponse submit(DocumentJobRequest request) {
+        DocumentJob job = new DocumentJob(UUID.randomUUID().toString(), currentUser.getId(), resolveOrderIds(request));
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ServiceBusyException("Too many document jobs queued, try again later", 60);
+        }
+        return toResponse(job);
+    }
+
+    public DocumentJobResponse getJob(String id) {
+        return toResponse(findJob(id));
+    }
+
+    /**
+     * Opens the archive of a completed job, or returns empty while the job is still queued, running or has
+     * failed. The archive is kept on disk until the returned stream is closed.
+     */
+    public Optional<Archive> openArchive(String id) throws IOException {
+        DocumentJob job = findJob(id);
+        synchronized (job) {
+            if (job.status != JobStatus.COMPLETED || job.discarded) {
+                return Optional.empty();
+            }
+            job.downloads++;
+        }
+        try {
+            long size = Files.size(job.archive);
+            InputStream content = new FilterInputStream(Files.newInputStream(job.archive)) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    try {
+                        super.close();
+                    } finally {
+                        release(job);
+                    }
+                }
+            };
+            return Optional.of(new Archive(content, size));
+        } catch (IOException | RuntimeException e) {
+            release(job);
+            throw e;
+        }
+    }
+
+    public void cancel(String id) {
+        DocumentJob job = findJob(id);
+        jobs.remove(id);
+        job.cancelled = true;
+        discard(job);
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(cutoff);
+            if (expired) {
+                discard(job);
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * Deletes the job's archive now, or when its last download finishes.
+     */
+    private void discard(DocumentJob job) {
+        synchronized (job) {
+            job.discarded = true;
+            if (job.downloads > 0 || job.archive == null) {
+                return;
+            }
+        }
+        deleteQuietly(job.archive);
+    }
+
+    private void release(DocumentJob job) {
+        synchronized (job) {
+            job.downloads--;
+            if (!job.discarded || job.downloads > 0) {
+                return;
+            }
+        }
+        deleteQuietly(job.archive);
+    }
+
+    private List<Long> resolveOrderIds(DocumentJobRequest request) {
+        boolean hasIds = request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new IllegalArgumentException("Provide either orderIds or filter");
+        }
+
+        List<Long> orderIds = hasIds
+                ? request.getOrderIds().stream().filter(Objects::nonNull).distinct().toList()
+                : orderRepository.findIds(request.getFilter(), maxOrders + 1);
+        if (orderIds.isEmpty()) {
+            throw new IllegalArgumentException("No orders selected");
+        }
+        if (orderIds.size() > maxOrders) {
+            throw new IllegalArgumentException("A document job can include at most " + maxOrders + " orders");
+        }
+        return orderIds;
+    }
+
+    private void run(DocumentJob job) {
+        if (job.cancelled) {
+            return;
+        }
+        job.startedAt = LocalDateTime.now();
+        job.status = JobStatus.RUNNING;
+
+        Path part = directory.resolve(job.id + ".zip.part");
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(part)))) {
+                // PDF content streams are already compressed; spend as little CPU as possible re-deflating them
+                zip.setLevel(Deflater.BEST_SPEED);
+                for (Long orderId : job.orderIds) {
+                    if (job.cancelled) {
+                        break;
+                    }
+                    try {
+                        OrderResponse order = orderService.getOrderById(orderId);
+                        zip.putNextEntry(new ZipEntry(order.getOrderNumber() + ".pdf"));
+                        zip.write(receiptRenderer.render(order));
+                        zip.closeEntry();
+                        job.completed.incrementAndGet();
+                    } catch (ResourceNotFoundException e) {
+                        // Deleted after the job was queued
+                        job.failedOrderIds.add(orderId);
+                    }
+                }
+            }
+
+            if (job.cancelled) {
+                deleteQuietly(part);
+                job.status = JobStatus.CANCELLED;
+            } else {
+                Path archive = directory.resolve(job.id + ".zip");
+                Files.move(part, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                synchronized (job) {
+                    job.archive = archive;
+                    job.status = JobStatus.COMPLETED;
+                }
+                if (job.cancelled) {
+                    // Cancelled after the last order was written
+                    discard(job);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(part);
+            job.error = e.getMessage();
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * The job with {@code id} if it belongs to the current user; other users' jobs are reported as missing
+     * so their ids cannot be probed.
+     */
+    private DocumentJob findJob(String id) {
+        DocumentJob job = jobs.get(id);
+        if (job == null || !job.ownerId.equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Document job", "id", id);
+        }
+        return job;
+    }
+
+    private DocumentJobResponse toResponse(DocumentJob job) {
+        DocumentJobResponse response = new DocumentJobResponse();
+        response.setId(job.id);
+        response.setStatus(job.status);
+        response.setTotal(job.orderIds.size());
+        response.setCompleted(job.completed.get());
+        response.setFailed(job.failedOrderIds.size());
+        response.setFailedOrderIds(new ArrayList<>(job.failedOrderIds));
+        response.setError(job.error);
+        if (job.status == JobStatus.COMPLETED) {
+            response.setDownloadUrl("/api/orders/documents/jobs/" + job.id + "/download");
+        }
+        response.setCreatedAt(job.createdAt);
+        response.setStartedAt(job.startedAt);
+        response.setFinishedAt(job.finishedAt);
+        return response;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Left for the startup sweep
+        }
+    }
+
+    private static final class DocumentJob {
+        private final String id;
+        private final Long ownerId;
+        private final List<Long> orderIds;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final List<Long> failedOrderIds = Collections.synchronizedList(new ArrayList<>());
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Path archive;
+        private volatile String error;
+        private volatile boolean cancelled;
+        // Guarded by the job's monitor
+        private int downloads;
+        private boolean discarded;
+
+        private DocumentJob(String id, Long ownerId, List<Long> orderIds) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.orderIds = orderIds;
+        }
+    }
+}
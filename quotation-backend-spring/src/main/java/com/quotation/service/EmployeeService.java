@@ -1,28 +1,44 @@
 package com.quotation.service;
 
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.EmployeeOption;
 import com.quotation.dto.EmployeeRequest;
 import com.quotation.dto.EmployeeResponse;
+import com.quotation.dto.PageResponse;
 import com.quotation.entity.Employee;
 import com.quotation.entity.User;
 import com.quotation.exception.ResourceNotFoundException;
 import com.quotation.repository.EmployeeRepository;
-import com.quotation.repository.UserRepository;
+import com.quotation.repository.NameCursor;
+import com.quotation.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "position", "createdAt", "updatedAt", "id");
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
+
+    @Value("${listings.options.default-size:50}")
+    private int defaultOptionSize;
+
+    @Value("${listings.options.max-size:200}")
+    private int maxOptionSize;
 
     public List<EmployeeResponse> getAllEmployees() {
         return employeeRepository.findAll().stream()
@@ -30,6 +46,27 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<EmployeeResponse> getEmployeePage(Pageable pageable) {
+        Slice<Employee> slice = employeeRepository.findSliceBy(Listings.sorted(pageable, SORTABLE, Sort.by("name")));
+        return PageResponse.of(slice.map(this::convertToResponse));
+    }
+
+    /**
+     * Lightweight picker rows ordered by name, keyset-paginated so deep pages cost the same as the first.
+     */
+    public CursorPageResponse<EmployeeOption> getEmployeeOptions(String cursor, Integer size) {
+        int pageSize = Listings.pageSize(size, defaultOptionSize, maxOptionSize);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<EmployeeOption> rows;
+        if (cursor == null) {
+            rows = employeeRepository.findActiveOptions(limit);
+        } else {
+            NameCursor after = NameCursor.decode(cursor);
+            rows = employeeRepository.findActiveOptionsAfter(after.name(), after.id(), limit);
+        }
+        return Listings.keysetPage(rows, pageSize, option -> new NameCursor(option.name(), option.id()));
+    }
+
     public EmployeeResponse getEmployeeById(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
@@ -37,14 +74,14 @@ public class EmployeeService {
     }
 
     public EmployeeResponse createEmployee(EmployeeRequest request) {
-        User currentUser = getCurrentUser();
+        User createdBy = currentUser.getReference();
 
         Employee employee = new Employee();
         employee.setName(request.getName());
         employee.setPhone(request.getPhone());
         employee.setPosition(request.getPosition());
         employee.setEmail(request.getEmail());
-        employee.setCreatedBy(currentUser);
+        employee.setCreatedBy(createdBy);
 
         Employee saved = employeeRepository.save(employee);
         return convertToResponse(saved);
@@ -80,11 +117,4 @@ public class EmployeeService {
         response.setUpdatedAt(employee.getUpdatedAt());
         return response;
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-    }
 }
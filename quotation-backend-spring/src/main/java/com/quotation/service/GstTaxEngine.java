@@ -0,0 +1,91 @@
+package com.quotation.service;
+
+import com.quotation.entity.Customer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Indian GST: intra-state supply pays CGST and SGST at half the rate each, inter-state supply pays IGST at the
+ * full rate. Tax is computed and rounded per line, so the stored line amounts always add up to the order's,
+ * and a line's GST is the same whichever way it is split.
+ * <p>
+ * The place of supply is decided by the first two digits of the customer's GSTIN, which are its state code,
+ * against {@code tax.supplier-state-code}. Customers without a GSTIN, or a supplier without a configured
+ * state, are treated as intra-state.
+ */
+@Component
+public class GstTaxEngine implements TaxEngine {
+
+    @Value("${tax.slabs:0,5,12,18,28}")
+    private int[] slabs;
+
+    @Value("${tax.default-rate:18}")
+    private int defaultRate;
+
+    @Value("${tax.supplier-state-code:}")
+    private String supplierStateCode;
+
+    @Value("${pricing.rounding-mode:HALF_UP}")
+    private RoundingMode roundingMode;
+
+    // Indexed by rate, so checking a slab is an array read
+    private boolean[] allowed;
+
+    @PostConstruct
+    void init() {
+        allowed = new boolean[101];
+        for (int slab : slabs) {
+            if (slab < 0 || slab > 100) {
+                throw new IllegalStateException("tax.slabs must be percentages, got " + slab);
+            }
+            allowed[slab] = true;
+        }
+        if (!allowed[defaultRate]) {
+            throw new IllegalStateException("tax.default-rate " + defaultRate + " is not one of tax.slabs");
+        }
+    }
+
+    @Override
+    public int defaultRate() {
+        return defaultRate;
+    }
+
+    @Override
+    public int rateFor(CatalogItem item) {
+        Integer rate = item.effectiveGstRate();
+        return rate != null ? rate : defaultRate;
+    }
+
+    @Override
+    public void validateRate(Integer rate) {
+        if (rate != null && (rate < 0 || rate >= allowed.length || !allowed[rate])) {
+            throw new IllegalArgumentException("GST rate must be one of " + Arrays.stream(slabs)
+                    .mapToObj(String::valueOf).collect(Collectors.joining(", ")));
+        }
+    }
+
+    @Override
+    public boolean isInterState(Customer customer) {
+        String gstin = customer.getGst();
+        if (supplierStateCode.isBlank() || gstin == null || gstin.length() < 2) {
+            return false;
+        }
+        return !gstin.startsWith(supplierStateCode.trim());
+    }
+
+    @Override
+    public LineTax lineTax(long taxableAmount, int rate, boolean interState) {
+        long gst = OrderPricing.divide(Math.multiplyExact(taxableAmount, rate), 100, roundingMode);
+        if (interState) {
+            return new LineTax(0, 0, gst);
+        }
+        // Rounding each half on its own could add or drop a paisa; SGST takes whatever CGST leaves
+        long cgst = OrderPricing.divide(gst, 2, roundingMode);
+        return new LineTax(cgst, gst - cgst, 0);
+    }
+}
@@ -0,0 +1,312 @@
+package com.quotation.service;
+
+import com.quotation.dto.CatalogStats;
+import com.quotation.entity.Category;
+import com.quotation.entity.Item;
+import com.quotation.repository.CategoryRepository;
+import com.quotation.repository.ItemRepository;
+import com.quotation.search.TextIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory copy of the item catalog with categories embedded, loaded at startup and updated by the
+ * item and category services after each committed change.
+ * <p>
+ * Readers always see a complete, immutable snapshot; writers replace the snapshot under a lock and bump its
+ * version. Items are held in {@link ChunkedIdMap}s, overall and per category, so a write copies only the
+ * chunks of the ids it changes and shares the rest with the previous snapshot. Ids that are not cached
+ * (e.g. created by another instance) fall through to the database and are added on the way back.
+ * <p>
+ * Item names are also kept in a {@link TextIndex} for typeahead search, updated alongside the snapshot.
+ */
+@Component
+public class ItemCatalog {
+
+    private record Snapshot(
+            long version,
+            ChunkedIdMap<CatalogItem> items,
+            Map<Long, ChunkedIdMap<CatalogItem>> itemsByCategory,
+            Map<Long, CatalogItem.CatalogCategory> categories,
+            LocalDateTime loadedAt) {
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final TextIndex nameIndex = new TextIndex();
+
+    private volatile Snapshot snapshot = new Snapshot(0, ChunkedIdMap.empty(), Map.of(), Map.of(), null);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    /**
+     * Periodic full reload so changes made by other instances are eventually picked up.
+     */
+    @Scheduled(initialDelayString = "${catalog.refresh-interval-ms:300000}",
+            fixedDelayString = "${catalog.refresh-interval-ms:300000}")
+    public void reload() {
+        long startVersion = snapshot.version();
+        Map<Long, CatalogItem.CatalogCategory> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getId(), CatalogItem.CatalogCategory.of(category));
+        }
+        Map<Long, CatalogItem> items = new HashMap<>();
+        for (Item item : itemRepository.findAllWithCategory()) {
+            // Use the category fetched with the item: one created after the query above is not in the map yet
+            CatalogItem catalogItem = CatalogItem.of(item);
+            items.put(item.getId(), catalogItem);
+            categories.put(catalogItem.category().id(), catalogItem.category());
+        }
+
+        synchronized (this) {
+            // A change committed while we were reading is already applied; retry on the next round instead
+            if (snapshot.version() == startVersion) {
+                syncNameIndex(snapshot.items().asMap(), items);
+                snapshot = new Snapshot(startVersion + 1, ChunkedIdMap.of(items), groupByCategory(items.values()),
+                        Map.copyOf(categories), LocalDateTime.now());
+            }
+        }
+    }
+
+    public Optional<CatalogItem> get(Long id) {
+        CatalogItem item = snapshot.items().get(id);
+        if (item != null) {
+            hits.increment();
+            return Optional.of(item);
+        }
+        misses.increment();
+        return itemRepository.findAllWithCategoryByIdIn(List.of(id)).stream()
+                .findFirst()
+                .map(this::put);
+    }
+
+    /**
+     * Items for the given ids; ids that do not exist are absent from the result.
+     */
+    public Map<Long, CatalogItem> getAll(Collection<Long> ids) {
+        ChunkedIdMap<CatalogItem> cached = snapshot.items();
+        Map<Long, CatalogItem> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            CatalogItem item = cached.get(id);
+            if (item != null) {
+                found.put(id, item);
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.add(found.size());
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            for (Item item : itemRepository.findAllWithCategoryByIdIn(missing)) {
+                found.put(item.getId(), put(item));
+            }
+        }
+        return found;
+    }
+
+    public List<CatalogItem> findByCategory(Long categoryId) {
+        hits.increment();
+        ChunkedIdMap<CatalogItem> items = snapshot.itemsByCategory().get(categoryId);
+        return items == null ? List.of() : items.values();
+    }
+
+    public List<CatalogItem> findAll() {
+        hits.increment();
+        return snapshot.items().values();
+    }
+
+    /**
+     * Best matches for a typeahead query on item names, optionally within one category.
+     */
+    public List<CatalogItem> search(String query, Long categoryId, int limit) {
+        hits.increment();
+        ChunkedIdMap<CatalogItem> items = snapshot.items();
+        LongPredicate inCategory = categoryId == null ? null : id -> {
+            CatalogItem item = items.get(id);
+            return item != null && categoryId.equals(item.category().id());
+        };
+
+        List<CatalogItem> results = new ArrayList<>();
+        for (TextIndex.Hit hit : nameIndex.search(query, inCategory, limit)) {
+            CatalogItem item = items.get(hit.id());
+            if (item != null) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Current snapshot of all items by id, without going to the database for unknown ids.
+     */
+    public Map<Long, CatalogItem> asMap() {
+        return snapshot.items().asMap();
+    }
+
+    /**
+     * Adds or replaces an item after it was saved. The item's category must be initialized.
+     */
+    public synchronized CatalogItem put(Item item) {
+        CatalogItem updated = CatalogItem.of(item);
+        Snapshot current = snapshot;
+        CatalogItem existing = current.items().get(updated.id());
+        // Two concurrent saves may arrive out of order; never replace a newer copy with an older one
+        if (existing != null && existing.updatedAt() != null && updated.updatedAt() != null
+                && existing.updatedAt().isAfter(updated.updatedAt())) {
+            return existing;
+        }
+
+        nameIndex.put(updated.id(), updated.name());
+        Map<Long, ChunkedIdMap<CatalogItem>> byCategory = current.itemsByCategory();
+        if (existing != null && !existing.category().id().equals(updated.category().id())) {
+            byCategory = withBucket(byCategory, existing.category().id(), bucket(byCategory, existing.category().id())
+                    .without(updated.id()));
+        }
+        byCategory = withBucket(byCategory, updated.category().id(), bucket(byCategory, updated.category().id())
+                .with(updated.id(), updated));
+        Map<Long, CatalogItem.CatalogCategory> categories = current.categories();
+        if (!updated.category().equals(categories.get(updated.category().id()))) {
+            categories = withEntry(categories, updated.category().id(), updated.category());
+        }
+        replace(current, current.items().with(updated.id(), updated), byCategory, categories);
+        return updated;
+    }
+
+    public synchronized void remove(Long itemId) {
+        Snapshot current = snapshot;
+        CatalogItem existing = current.items().get(itemId);
+        if (existing == null) {
+            return;
+        }
+        nameIndex.remove(itemId);
+        evictions.increment();
+        Long categoryId = existing.category().id();
+        replace(current, current.items().without(itemId),
+                withBucket(current.itemsByCategory(), categoryId, bucket(current.itemsByCategory(), categoryId)
+                        .without(itemId)),
+                current.categories());
+    }
+
+    /**
+     * Records a created or renamed category and refreshes the copy embedded in its items.
+     */
+    public synchronized void putCategory(Category category) {
+        CatalogItem.CatalogCategory updated = CatalogItem.CatalogCategory.of(category);
+        Snapshot current = snapshot;
+        ChunkedIdMap<CatalogItem> bucket = bucket(current.itemsByCategory(), updated.id());
+        SortedMap<Long, CatalogItem> changes = new TreeMap<>();
+        for (CatalogItem item : bucket.values()) {
+            changes.put(item.id(), item.withCategory(updated));
+        }
+        replace(current, current.items().apply(changes),
+                withBucket(current.itemsByCategory(), updated.id(), bucket.apply(changes)),
+                withEntry(current.categories(), updated.id(), updated));
+    }
+
+    public synchronized void removeCategory(Long categoryId) {
+        Snapshot current = snapshot;
+        SortedMap<Long, CatalogItem> removals = new TreeMap<>();
+        for (CatalogItem item : bucket(current.itemsByCategory(), categoryId).values()) {
+            removals.put(item.id(), null);
+            nameIndex.remove(item.id());
+            evictions.increment();
+        }
+        Map<Long, CatalogItem.CatalogCategory> categories = new HashMap<>(current.categories());
+        categories.remove(categoryId);
+        replace(current, current.items().apply(removals),
+                withBucket(current.itemsByCategory(), categoryId, ChunkedIdMap.empty()), Map.copyOf(categories));
+    }
+
+    public CatalogStats getStats() {
+        Snapshot current = snapshot;
+        return new CatalogStats(current.version(), current.items().size(), current.categories().size(),
+                hits.sum(), misses.sum(), evictions.sum(), current.loadedAt());
+    }
+
+    private void replace(Snapshot current, ChunkedIdMap<CatalogItem> items,
+                         Map<Long, ChunkedIdMap<CatalogItem>> itemsByCategory,
+                         Map<Long, CatalogItem.CatalogCategory> categories) {
+        snapshot = new Snapshot(current.version() + 1, items, itemsByCategory, categories, current.loadedAt());
+    }
+
+    private static ChunkedIdMap<CatalogItem> bucket(Map<Long, ChunkedIdMap<CatalogItem>> itemsByCategory,
+                                                    Long categoryId) {
+        return itemsByCategory.getOrDefault(categoryId, ChunkedIdMap.empty());
+    }
+
+    /**
+     * Copy of the per-category map with one bucket replaced; copies only the bucket references.
+     */
+    private static Map<Long, ChunkedIdMap<CatalogItem>> withBucket(
+            Map<Long, ChunkedIdMap<CatalogItem>> itemsByCategory, Long categoryId, ChunkedIdMap<CatalogItem> bucket) {
+        Map<Long, ChunkedIdMap<CatalogItem>> copy = new HashMap<>(itemsByCategory);
+        if (bucket.size() == 0) {
+            copy.remove(categoryId);
+        } else {
+            copy.put(categoryId, bucket);
+        }
+        return Map.copyOf(copy);
+    }
+
+    private static <K, V> Map<K, V> withEntry(Map<K, V> map, K key, V value) {
+        Map<K, V> copy = new HashMap<>(map);
+        copy.put(key, value);
+        return Map.copyOf(copy);
+    }
+
+    private void syncNameIndex(Map<Long, CatalogItem> previous, Map<Long, CatalogItem> current) {
+        if (previous.isEmpty()) {
+            Map<Long, String> names = new HashMap<>(current.size());
+            current.values().forEach(item -> names.put(item.id(), item.name()));
+            nameIndex.reset(names);
+            return;
+        }
+        // Periodic reloads usually change nothing, so only touch the index for names that differ
+        current.values().forEach(item -> {
+            CatalogItem before = previous.get(item.id());
+            if (before == null || !before.name().equals(item.name())) {
+                nameIndex.put(item.id(), item.name());
+            }
+        });
+        previous.keySet().stream()
+                .filter(id -> !current.containsKey(id))
+                .forEach(nameIndex::remove);
+    }
+
+    private static Map<Long, ChunkedIdMap<CatalogItem>> groupByCategory(Collection<CatalogItem> items) {
+        Map<Long, Map<Long, CatalogItem>> grouped = new HashMap<>();
+        for (CatalogItem item : items) {
+            grouped.computeIfAbsent(item.category().id(), id -> new HashMap<>()).put(item.id(), item);
+        }
+        Map<Long, ChunkedIdMap<CatalogItem>> result = new HashMap<>(grouped.size());
+        grouped.forEach((categoryId, categoryItems) -> result.put(categoryId, ChunkedIdMap.of(categoryItems)));
+        return Map.copyOf(result);
+    }
+}
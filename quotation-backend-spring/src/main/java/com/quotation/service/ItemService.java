@@ -9,10 +9,9 @@ import com.quotation.entity.User;
 import com.quotation.exception.ResourceNotFoundException;
 import com.quotation.repository.CategoryRepository;
 import com.quotation.repository.ItemRepository;
-import com.quotation.repository.UserRepository;
+import com.quotation.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -28,34 +27,49 @@ public class ItemService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Value("${items.search.max-limit:100}")
+    private int maxSearchLimit;
 
     public List<ItemResponse> getAllItems(String search, Long categoryId) {
-        List<Item> items;
-        
-        if (search != null && !search.isEmpty() && categoryId != null) {
-            items = itemRepository.findByNameContainingIgnoreCaseAndCategoryId(search, categoryId);
-        } else if (search != null && !search.isEmpty()) {
-            items = itemRepository.findByNameContainingIgnoreCase(search);
+        List<CatalogItem> items;
+        if (search != null && !search.isEmpty()) {
+            items = itemCatalog.search(search, categoryId, maxSearchLimit);
         } else if (categoryId != null) {
-            items = itemRepository.findByCategoryId(categoryId);
+            items = itemCatalog.findByCategory(categoryId);
         } else {
-            items = itemRepository.findAll();
+            items = itemCatalog.findAll();
         }
-        
         return items.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ranked typeahead matches: whole-name and prefix matches first, then word-prefix and infix matches.
+     */
+    public List<ItemResponse> searchItems(String query, Long categoryId, int limit) {
+        return itemCatalog.search(query, categoryId, Math.min(Math.max(limit, 1), maxSearchLimit)).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
     public ItemResponse getItemById(Long id) {
-        Item item = itemRepository.findById(id)
+        CatalogItem item = itemCatalog.get(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id));
         return convertToResponse(item);
     }
 
     public ItemResponse createItem(ItemRequest request) {
-        User currentUser = getCurrentUser();
+        taxEngine.validateRate(request.getGstRate());
+        User createdBy = currentUser.getReference();
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.getCategoryId()));
 
@@ -65,13 +79,16 @@ public class ItemService {
         item.setPrice(request.getPrice());
         item.setDescription(request.getDescription());
         item.setUnit(request.getUnit());
-        item.setCreatedBy(currentUser);
+        item.setHsnCode(request.getHsnCode());
+        item.setGstRate(request.getGstRate());
+        item.setCreatedBy(createdBy);
 
         Item saved = itemRepository.save(item);
-        return convertToResponse(saved);
+        return convertToResponse(itemCatalog.put(saved));
     }
 
     public ItemResponse updateItem(Long id, ItemRequest request) {
+        taxEngine.validateRate(request.getGstRate());
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id));
         Category category = categoryRepository.findById(request.getCategoryId())
@@ -82,41 +99,40 @@ public class ItemService {
         item.setPrice(request.getPrice());
         item.setDescription(request.getDescription());
         item.setUnit(request.getUnit());
+        item.setHsnCode(request.getHsnCode());
+        item.setGstRate(request.getGstRate());
 
         Item updated = itemRepository.save(item);
-        return convertToResponse(updated);
+        return convertToResponse(itemCatalog.put(updated));
     }
 
     public void deleteItem(Long id) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id));
         itemRepository.delete(item);
+        itemCatalog.remove(id);
     }
 
-    private ItemResponse convertToResponse(Item item) {
+    private ItemResponse convertToResponse(CatalogItem item) {
         ItemResponse response = new ItemResponse();
-        response.setId(item.getId());
-        response.setName(item.getName());
-        
+        response.setId(item.id());
+        response.setName(item.name());
+
         CategoryResponse categoryResponse = new CategoryResponse();
-        categoryResponse.setId(item.getCategory().getId());
-        categoryResponse.setName(item.getCategory().getName());
-        categoryResponse.setDescription(item.getCategory().getDescription());
+        categoryResponse.setId(item.category().id());
+        categoryResponse.setName(item.category().name());
+        categoryResponse.setDescription(item.category().description());
+        categoryResponse.setGstRate(item.category().gstRate());
         response.setCategory(categoryResponse);
-        
-        response.setPrice(item.getPrice());
-        response.setDescription(item.getDescription());
-        response.setUnit(item.getUnit());
-        response.setIsActive(item.getIsActive());
-        response.setCreatedAt(item.getCreatedAt());
-        response.setUpdatedAt(item.getUpdatedAt());
-        return response;
-    }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        response.setPrice(item.price());
+        response.setDescription(item.description());
+        response.setUnit(item.unit());
+        response.setHsnCode(item.hsnCode());
+        response.setGstRate(item.gstRate());
+        response.setIsActive(item.isActive());
+        response.setCreatedAt(item.createdAt());
+        response.setUpdatedAt(item.updatedAt());
+        return response;
     }
 }
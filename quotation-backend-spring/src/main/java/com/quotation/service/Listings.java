@@ -0,0 +1,55 @@
+package com.quotation.service;
+
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.repository.NameCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Paging helpers shared by the customer, employee and category listings.
+ */
+final class Listings {
+
+    private Listings() {
+    }
+
+    /**
+     * Rejects sort properties outside {@code allowed}, applies {@code defaultSort} when none is given and
+     * appends the id so that rows with equal sort keys keep a stable order across pages.
+     */
+    static Pageable sorted(Pageable pageable, Set<String> allowed, Sort defaultSort) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : defaultSort;
+        for (Sort.Order order : sort) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    static int pageSize(Integer size, int defaultSize, int maxSize) {
+        if (size == null) {
+            return defaultSize;
+        }
+        return Math.min(Math.max(size, 1), maxSize);
+    }
+
+    /**
+     * Builds a keyset page from a query that fetched one row more than {@code size}; the extra row only
+     * tells whether another page exists.
+     */
+    static <T> CursorPageResponse<T> keysetPage(List<T> rows, int size, Function<T, NameCursor> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPageResponse<>(List.copyOf(content), nextCursor, hasMore);
+    }
+}
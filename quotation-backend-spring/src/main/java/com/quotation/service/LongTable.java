@@ -0,0 +1,209 @@
+package com.quotation.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a {@code long} key to a fixed number of {@code long} columns, each folded
+ * with its own {@link Fold}. Rows live in flat arrays, so accumulating millions of values allocates nothing
+ * per value. Not thread-safe; parallel work accumulates into separate tables and {@link #merge}s them.
+ */
+final class LongTable {
+
+    enum Fold {
+        SUM(0), MIN(Long.MAX_VALUE), MAX(Long.MIN_VALUE);
+
+        private final long identity;
+
+        Fold(long identity) {
+            this.identity = identity;
+        }
+
+        long apply(long current, long value) {
+            return switch (this) {
+                case SUM -> current + value;
+                case MIN -> Math.min(current, value);
+                case MAX -> Math.max(current, value);
+            };
+        }
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Fold[] folds;
+    private final int width;
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    LongTable(Fold... folds) {
+        this.folds = folds.clone();
+        this.width = folds.length;
+        allocate(16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Slot of {@code key}, adding a row of identity values when it is absent. Slots move when the table
+     * grows, so a slot is only valid until the next call.
+     */
+    int row(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Unsupported key: " + key);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 4L > keys.length * 3L) {
+            grow();
+            return row(key);
+        }
+        keys[slot] = key;
+        for (int column = 0; column < width; column++) {
+            values[slot * width + column] = folds[column].identity;
+        }
+        size++;
+        return slot;
+    }
+
+    void accumulate(int row, int column, long value) {
+        int index = row * width + column;
+        values[index] = folds[column].apply(values[index], value);
+    }
+
+    long key(int row) {
+        return keys[row];
+    }
+
+    long get(int row, int column) {
+        return values[row * width + column];
+    }
+
+    /**
+     * Folds every row of {@code other}, which must have the same columns, into this table.
+     */
+    void merge(LongTable other) {
+        if (!Arrays.equals(folds, other.folds)) {
+            throw new IllegalArgumentException("Tables have different columns");
+        }
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                int row = row(other.keys[slot]);
+                for (int column = 0; column < width; column++) {
+                    accumulate(row, column, other.values[slot * width + column]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows with the largest values in {@code column}, largest first and by key on ties. Uses a bounded
+     * heap, so ranking costs O(n log limit) without sorting the whole table.
+     */
+    int[] top(int column, int limit) {
+        int capacity = Math.min(limit, size);
+        int[] heap = new int[capacity];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY) {
+                continue;
+            }
+            if (count < capacity) {
+                heap[count] = slot;
+                siftUp(heap, count++, column);
+            } else if (capacity > 0 && ranksAbove(slot, heap[0], column)) {
+                heap[0] = slot;
+                siftDown(heap, count, column);
+            }
+        }
+        // Popping the weakest row repeatedly fills the result from the back
+        int[] ranked = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            ranked[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i, column);
+        }
+        return ranked;
+    }
+
+    private boolean ranksAbove(int a, int b, int column) {
+        long va = get(a, column);
+        long vb = get(b, column);
+        return va != vb ? va > vb : keys[a] < keys[b];
+    }
+
+    private void siftUp(int[] heap, int index, int column) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], heap[index], column)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int count, int column) {
+        int index = 0;
+        while (true) {
+            int weakest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < count && ranksAbove(heap[weakest], heap[left], column)) {
+                weakest = left;
+            }
+            if (right < count && ranksAbove(heap[weakest], heap[right], column)) {
+                weakest = right;
+            }
+            if (weakest == index) {
+                return;
+            }
+            swap(heap, index, weakest);
+            index = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] == EMPTY) {
+                continue;
+            }
+            int slot = mix(oldKeys[old]) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[old];
+            System.arraycopy(oldValues, old * width, values, slot * width, width);
+            size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new long[capacity * width];
+        size = 0;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
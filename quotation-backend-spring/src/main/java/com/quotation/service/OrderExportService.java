@@ -0,0 +1,171 @@
+package com.quotation.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quotation.dto.OrderExportRow;
+import com.quotation.dto.OrderFilter;
+import com.quotation.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes the order book to an output stream row by row while the underlying query is still being read,
+ * so memory use does not depend on the number of orders exported.
+ */
+@Service
+public class OrderExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "orderId,orderNumber,billingDate,status,customerId,customerName,"
+            + "employeeId,employeeName,subtotal,gstEnabled,gstAmount,orderTotal,"
+            + "itemId,itemName,quantity,price,unit,lineTotal";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderFilter filter, Format format, OutputStream output) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(filter, fetchSize)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), output);
+            } else {
+                writeNdjson(rows.iterator(), output);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<OrderExportRow> rows, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            writeCsvRecord(writer, row.orderId(), row.orderNumber(), row.billingDate(), row.status(),
+                    row.customerId(), row.customerName(), row.employeeId(), row.employeeName(),
+                    row.subtotal(), row.gstEnabled(), row.gstAmount(), row.orderTotal(),
+                    row.itemId(), row.itemName(), row.quantity(), row.price(), row.unit(), row.lineTotal());
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRecord(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * One JSON object per order; rows arrive ordered by order id, so each order's lines are contiguous.
+     */
+    private void writeNdjson(Iterator<OrderExportRow> rows, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        Long currentOrderId = null;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            if (!row.orderId().equals(currentOrderId)) {
+                if (currentOrderId != null) {
+                    endOrder(generator);
+                }
+                startOrder(generator, row);
+                currentOrderId = row.orderId();
+            }
+            generator.writeStartObject();
+            generator.writeObjectField("itemId", row.itemId());
+            generator.writeStringField("itemName", row.itemName());
+            generator.writeObjectField("quantity", row.quantity());
+            generator.writeObjectField("price", row.price());
+            generator.writeStringField("unit", row.unit());
+            generator.writeObjectField("total", row.lineTotal());
+            generator.writeEndObject();
+        }
+        if (currentOrderId != null) {
+            endOrder(generator);
+        }
+        generator.flush();
+    }
+
+    private void startOrder(JsonGenerator generator, OrderExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectField("id", row.orderId());
+        generator.writeStringField("orderNumber", row.orderNumber());
+        generator.writeObjectField("billingDate", row.billingDate());
+        generator.writeStringField("status", row.status().name());
+        generator.writeObjectField("customerId", row.customerId());
+        generator.writeStringField("customerName", row.customerName());
+        generator.writeObjectField("employeeId", row.employeeId());
+        generator.writeStringField("employeeName", row.employeeName());
+        generator.writeObjectField("subtotal", row.subtotal());
+        generator.writeObjectField("gstEnabled", row.gstEnabled());
+        generator.writeObjectField("gstAmount", row.gstAmount());
+        generator.writeObjectField("total", row.orderTotal());
+        generator.writeArrayFieldStart("items");
+    }
+
+    private void endOrder(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
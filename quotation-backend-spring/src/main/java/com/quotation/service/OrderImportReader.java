@@ -0,0 +1,267 @@
+package com.quotation.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quotation.dto.OrderItemRequest;
+import com.quotation.dto.OrderRequest;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls orders one at a time out of a bulk upload, so only the current order is held in memory.
+ * Rows that cannot be mapped are returned with an error instead of aborting the upload.
+ */
+interface OrderImportReader extends Closeable {
+
+    MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    /**
+     * @return the next order, or null once the upload is exhausted
+     */
+    ImportRow next() throws IOException;
+
+    record ImportRow(long row, String reference, OrderRequest request, String error) {
+    }
+
+    static OrderImportReader open(String contentType, InputStream input, ObjectMapper objectMapper) throws IOException {
+        MediaType mediaType = contentType == null ? MediaType.APPLICATION_JSON : MediaType.parseMediaType(contentType);
+        if (NDJSON.includes(mediaType)) {
+            return new NdjsonReader(input, objectMapper);
+        }
+        if (CSV.includes(mediaType)) {
+            return new CsvReader(input);
+        }
+        return new JsonArrayReader(input, objectMapper);
+    }
+
+    /**
+     * A single JSON array of order requests, read element by element.
+     */
+    class JsonArrayReader implements OrderImportReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+        private long row;
+
+        JsonArrayReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of orders");
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            row++;
+            // Read the element as a tree first so a mapping error leaves the parser on the next element
+            JsonNode node = objectMapper.readTree(parser);
+            try {
+                return new ImportRow(row, null, objectMapper.treeToValue(node, OrderRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(row, null, null, e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * One order request JSON object per line.
+     */
+    class NdjsonReader implements OrderImportReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long row;
+
+        NdjsonReader(InputStream input, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            row++;
+            try {
+                return new ImportRow(row, null, objectMapper.readValue(line, OrderRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(row, null, null, e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * One line item per CSV record with a header row. Consecutive records sharing a {@code reference}
+     * form one order; without a reference column every record is its own order.
+     * Columns: reference, customerId, employeeId, gstEnabled, notes, itemId, quantity, price.
+     */
+    class CsvReader implements OrderImportReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private String[] pending;
+        private long lineNumber;
+        private long row;
+
+        CsvReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String[] header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV upload is missing its header row");
+            }
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim(), i);
+            }
+            for (String required : List.of("customerId", "itemId", "quantity", "price")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + required);
+                }
+            }
+            pending = readRecord();
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (pending == null) {
+                return null;
+            }
+            row++;
+            String reference = field(pending, "reference");
+            OrderRequest request = new OrderRequest();
+            request.setItems(new ArrayList<>());
+            String error = null;
+
+            try {
+                request.setCustomerId(parseLong(field(pending, "customerId")));
+                request.setEmployeeId(parseLong(field(pending, "employeeId")));
+                request.setGstEnabled(Boolean.parseBoolean(field(pending, "gstEnabled")));
+                request.setNotes(field(pending, "notes"));
+            } catch (IllegalArgumentException e) {
+                error = "Line " + lineNumber + ": " + e.getMessage();
+            }
+
+            do {
+                try {
+                    OrderItemRequest item = new OrderItemRequest();
+                    item.setItemId(parseLong(field(pending, "itemId")));
+                    item.setQuantity(Integer.valueOf(field(pending, "quantity")));
+                    item.setPrice(new BigDecimal(field(pending, "price")));
+                    request.getItems().add(item);
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    if (error == null) {
+                        error = "Line " + lineNumber + ": invalid line item";
+                    }
+                }
+                pending = readRecord();
+            } while (pending != null && reference != null && reference.equals(field(pending, "reference")));
+
+            return new ImportRow(row, reference, request, error);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private String field(String[] record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.length) {
+                return null;
+            }
+            String value = record[index].trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Long parseLong(String value) {
+            return value == null ? null : Long.valueOf(value);
+        }
+
+        /**
+         * Reads one record, continuing onto the following lines while a quoted field is open, so quoted
+         * values may contain line breaks.
+         */
+        private String[] readRecord() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else if (c == '"') {
+                            quoted = false;
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unterminated quoted field");
+                }
+                lineNumber++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields.toArray(new String[0]);
+        }
+    }
+}
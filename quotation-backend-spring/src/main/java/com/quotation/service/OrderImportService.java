@@ -0,0 +1,214 @@
+package com.quotation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quotation.dto.OrderImportResult;
+import com.quotation.dto.OrderImportSummary;
+import com.quotation.dto.OrderItemRequest;
+import com.quotation.dto.OrderRequest;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Employee;
+import com.quotation.entity.Order;
+import com.quotation.entity.User;
+import com.quotation.repository.CustomerRepository;
+import com.quotation.repository.EmployeeRepository;
+import com.quotation.repository.UserRepository;
+import com.quotation.security.CurrentUser;
+import com.quotation.service.OrderImportReader.ImportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large batches of orders from a streamed upload, committing in fixed-size chunks and
+ * writing an NDJSON report line per order as each chunk commits.
+ */
+@Service
+public class OrderImportService {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private SalesSummaryService salesSummaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${orders.import.chunk-size:500}")
+    private int chunkSize;
+
+    public void importOrders(String contentType, InputStream input, OutputStream output) throws IOException {
+        Long userId = currentUser.getId();
+
+        // Employees and items are small enough to validate against in memory; customers are resolved per chunk
+        Set<Long> employeeIds = new HashSet<>(employeeRepository.findAllIds());
+        Map<Long, CatalogItem> catalog = itemCatalog.asMap();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long created = 0;
+        long failed = 0;
+
+        try (OrderImportReader reader = OrderImportReader.open(contentType, input, objectMapper)) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.request(), employeeIds, catalog);
+                chunk.add(error == null ? row : new ImportRow(row.row(), row.reference(), row.request(), error));
+
+                if (chunk.size() >= chunkSize) {
+                    for (OrderImportResult result : importChunk(chunk, userId, catalog, transactionTemplate)) {
+                        writeLine(output, result);
+                        if (result.error() == null) {
+                            created++;
+                        } else {
+                            failed++;
+                        }
+                    }
+                    output.flush();
+                    chunk.clear();
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Malformed upload: keep what was committed and report where reading stopped
+            writeLine(output, OrderImportResult.failed(created + failed + chunk.size() + 1, null,
+                    "Upload could not be read: " + e.getMessage()));
+        }
+
+        for (OrderImportResult result : importChunk(chunk, userId, catalog, transactionTemplate)) {
+            writeLine(output, result);
+            if (result.error() == null) {
+                created++;
+            } else {
+                failed++;
+            }
+        }
+        writeLine(output, new OrderImportSummary(created, failed));
+        output.flush();
+    }
+
+    private List<OrderImportResult> importChunk(List<ImportRow> chunk, Long userId, Map<Long, CatalogItem> catalog,
+                                                TransactionTemplate transactionTemplate) {
+        List<OrderImportResult> results = new ArrayList<>(chunk.size());
+        if (chunk.isEmpty()) {
+            return results;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> customerIds = chunk.stream()
+                        .filter(row -> row.error() == null)
+                        .map(row -> row.request().getCustomerId())
+                        .collect(Collectors.toSet());
+                Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                        .collect(Collectors.toMap(Customer::getId, Function.identity()));
+                User createdBy = userRepository.getReferenceById(userId);
+                List<SalesSummaryService.Contribution> contributions = new ArrayList<>(chunk.size());
+
+                for (ImportRow row : chunk) {
+                    if (row.error() != null) {
+                        results.add(OrderImportResult.failed(row.row(), row.reference(), row.error()));
+                        continue;
+                    }
+                    OrderRequest request = row.request();
+                    Customer customer = customers.get(request.getCustomerId());
+                    if (customer == null) {
+                        results.add(OrderImportResult.failed(row.row(), row.reference(),
+                                notFound("Customer", request.getCustomerId())));
+                        continue;
+                    }
+                    Employee employee = request.getEmployeeId() == null
+                            ? null : employeeRepository.getReferenceById(request.getEmployeeId());
+
+                    Order order = orderService.buildOrder(request, customer, employee, catalog, createdBy);
+                    entityManager.persist(order);
+                    contributions.add(SalesSummaryService.Contribution.of(order));
+                    results.add(OrderImportResult.created(row.row(), row.reference(), order.getId(), order.getOrderNumber()));
+                }
+
+                salesSummaryService.applyAll(List.of(), contributions);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            results.clear();
+            for (ImportRow row : chunk) {
+                String error = row.error() != null ? row.error() : "Chunk rolled back: " + e.getMessage();
+                results.add(OrderImportResult.failed(row.row(), row.reference(), error));
+            }
+        }
+        return results;
+    }
+
+    private String validate(OrderRequest request, Set<Long> employeeIds, Map<Long, CatalogItem> catalog) {
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (request.getEmployeeId() != null && !employeeIds.contains(request.getEmployeeId())) {
+            return notFound("Employee", request.getEmployeeId());
+        }
+        Set<Long> missingItemIds = request.getItems().stream()
+                .map(OrderItemRequest::getItemId)
+                .filter(itemId -> !catalog.containsKey(itemId))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!missingItemIds.isEmpty()) {
+            return notFound("Item", missingItemIds);
+        }
+        return null;
+    }
+
+    private String notFound(String resourceName, Object id) {
+        return String.format("%s not found with id: '%s'", resourceName, id);
+    }
+
+    private void writeLine(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+    }
+}
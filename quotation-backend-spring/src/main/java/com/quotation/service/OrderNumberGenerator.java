@@ -0,0 +1,9 @@
+package com.quotation.service;
+
+/**
+ * Source of unique, human-readable order numbers.
+ */
+public interface OrderNumberGenerator {
+
+    String nextOrderNumber();
+}
@@ -0,0 +1,141 @@
+package com.quotation.service;
+
+import com.quotation.entity.Order;
+import com.quotation.entity.OrderItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Prices order lines and totals in paise. Amounts enter and leave as {@code BigDecimal} at scale 2, and
+ * everything in between is exact {@code long} arithmetic, so the only rounding happens where it is explicit:
+ * unit prices given with more than two decimals, and the tax on each line. Both use
+ * {@code pricing.rounding-mode}. Tax is delegated to the {@link TaxEngine}; the order's tax totals are the
+ * sums of the rounded line amounts.
+ */
+@Component
+public class OrderPricing {
+
+    private static final TaxEngine.LineTax NO_TAX = new TaxEngine.LineTax(0, 0, 0);
+
+    @Value("${pricing.rounding-mode:HALF_UP}")
+    private RoundingMode roundingMode;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    /**
+     * {@code price} rounded to whole paise.
+     */
+    public BigDecimal unitPrice(BigDecimal price) {
+        return rupees(paise(price));
+    }
+
+    public BigDecimal lineTotal(BigDecimal unitPrice, int quantity) {
+        return rupees(multiply(paise(unitPrice), quantity));
+    }
+
+    /**
+     * Sets the subtotal, tax split and total of {@code order} and the tax of each of its lines. Lines without
+     * their own rate use the order's.
+     */
+    public void applyTotals(Order order) {
+        boolean taxed = Boolean.TRUE.equals(order.getGstEnabled());
+        boolean interState = Boolean.TRUE.equals(order.getInterState());
+        long subtotal = 0;
+        long cgst = 0;
+        long sgst = 0;
+        long igst = 0;
+        for (OrderItem item : order.getItems()) {
+            long lineTotal = paise(item.getTotal());
+            subtotal = add(subtotal, lineTotal);
+            TaxEngine.LineTax tax = taxed ? lineTax(lineTotal, rateOf(item, order), interState) : NO_TAX;
+            item.setCgstAmount(rupees(tax.cgst()));
+            item.setSgstAmount(rupees(tax.sgst()));
+            item.setIgstAmount(rupees(tax.igst()));
+            cgst = add(cgst, tax.cgst());
+            sgst = add(sgst, tax.sgst());
+            igst = add(igst, tax.igst());
+        }
+        long gstAmount = add(add(cgst, sgst), igst);
+        order.setSubtotal(rupees(subtotal));
+        order.setCgstAmount(rupees(cgst));
+        order.setSgstAmount(rupees(sgst));
+        order.setIgstAmount(rupees(igst));
+        order.setGstAmount(rupees(gstAmount));
+        order.setTotal(rupees(add(subtotal, gstAmount)));
+    }
+
+    private TaxEngine.LineTax lineTax(long taxableAmount, int rate, boolean interState) {
+        try {
+            return taxEngine.lineTax(taxableAmount, rate, interState);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Order total is too large");
+        }
+    }
+
+    private static int rateOf(OrderItem item, Order order) {
+        return item.getGstRate() != null ? item.getGstRate() : order.getGstRate();
+    }
+
+    private long paise(BigDecimal amount) {
+        try {
+            return amount.setScale(2, roundingMode).movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount cannot be priced: " + amount.toPlainString());
+        }
+    }
+
+    static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    /**
+     * {@code dividend / divisor} rounded with {@code mode}, without leaving {@code long} arithmetic. Rounds
+     * like {@link BigDecimal#divide(BigDecimal, int, RoundingMode)} at scale 0; a quotient outside the
+     * {@code long} range (or a {@code Long.MIN_VALUE} divisor) throws {@link ArithmeticException}.
+     */
+    static long divide(long dividend, long divisor, RoundingMode mode) {
+        if (dividend == Long.MIN_VALUE && divisor == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = Long.signum(dividend) * Long.signum(divisor);
+        // Compares the remainder with half the divisor without doubling it
+        long rest = Math.absExact(divisor) - remainder;
+        boolean increment = switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> remainder >= rest;
+            case HALF_DOWN -> remainder > rest;
+            case HALF_EVEN -> remainder > rest || (remainder == rest && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new IllegalArgumentException("Amount needs rounding");
+        };
+        return increment ? quotient + sign : quotient;
+    }
+
+    private static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Order total is too large");
+        }
+    }
+
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Order total is too large");
+        }
+    }
+}
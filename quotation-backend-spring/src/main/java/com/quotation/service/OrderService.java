@@ -1,22 +1,28 @@
 package com.quotation.service;
 
+import com.quotation.dto.OrderFilter;
+import com.quotation.dto.OrderHeaderView;
 import com.quotation.dto.OrderItemRequest;
 import com.quotation.dto.OrderItemResponse;
+import com.quotation.dto.OrderLineView;
+import com.quotation.dto.OrderPageResponse;
 import com.quotation.dto.OrderRequest;
 import com.quotation.dto.OrderResponse;
 import com.quotation.entity.*;
 import com.quotation.exception.ResourceNotFoundException;
 import com.quotation.repository.*;
+import com.quotation.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,26 +38,89 @@ public class OrderService {
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private ItemRepository itemRepository;
+    private ItemCatalog itemCatalog;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
 
+    @Autowired
+    private SalesSummaryService salesSummaryService;
+
+    @Autowired
+    private OrderPricing orderPricing;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Autowired
+    private ReceiptCache receiptCache;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${orders.page.max-size:200}")
+    private int maxPageSize;
+
+    /**
+     * Legacy full listing, now bounded to the first page of the newest orders.
+     */
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToResponse)
+        return getOrders(new OrderFilter(), null, null).getOrders();
+    }
+
+    /**
+     * One page of a customer's orders, newest first.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getCustomerOrders(Long customerId, String cursor, Integer size) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer", "id", customerId);
+        }
+        OrderFilter filter = new OrderFilter();
+        filter.setCustomerId(customerId);
+        return getOrders(filter, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrders(OrderFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        OrderCursor after = cursor == null || cursor.isEmpty() ? null : OrderCursor.decode(cursor);
+
+        List<OrderHeaderView> headers = orderRepository.findHeaderPage(filter, after, pageSize + 1);
+        boolean hasMore = headers.size() > pageSize;
+        if (hasMore) {
+            headers = headers.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderHeaderView last = headers.get(headers.size() - 1);
+            nextCursor = new OrderCursor(last.createdAt(), last.id()).encode();
+        }
+
+        List<Long> orderIds = headers.stream().map(OrderHeaderView::id).collect(Collectors.toList());
+        Map<Long, List<OrderLineView>> linesByOrder = orderRepository.findLines(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderLineView::orderId));
+
+        List<OrderResponse> responses = headers.stream()
+                .map(header -> convertToResponse(header, linesByOrder.getOrDefault(header.id(), List.of())))
                 .collect(Collectors.toList());
+        return new OrderPageResponse(responses, nextCursor, hasMore);
     }
 
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        OrderHeaderView header = orderRepository.findHeaderById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
-        return convertToResponse(order);
+        return convertToResponse(header, orderRepository.findLines(List.of(id)));
     }
 
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
-        User currentUser = getCurrentUser();
+        User createdBy = currentUser.getReference();
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", request.getCustomerId()));
         
@@ -61,34 +130,19 @@ public class OrderService {
                     .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", request.getEmployeeId()));
         }
 
-        Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
-        order.setCustomer(customer);
-        order.setCustomerName(customer.getName());
-        order.setEmployee(employee);
-        order.setGstEnabled(request.getGstEnabled() != null ? request.getGstEnabled() : false);
-        order.setNotes(request.getNotes());
-        order.setCreatedBy(currentUser);
-        order.setStatus(Order.OrderStatus.PENDING);
-        order.setBillingDate(LocalDate.now());
-
-        // Process order items
-        List<OrderItem> orderItems = request.getItems().stream()
-                .map(itemRequest -> createOrderItem(itemRequest))
-                .collect(Collectors.toList());
-        order.setItems(orderItems);
-
-        // Calculate totals
-        calculateOrderTotals(order);
+        Map<Long, CatalogItem> catalog = resolveItems(request.getItems());
+        Order order = buildOrder(request, customer, employee, catalog, createdBy);
 
         Order saved = orderRepository.save(order);
+        salesSummaryService.apply(null, SalesSummaryService.Contribution.of(saved));
         return convertToResponse(saved);
     }
 
     @Transactional
     public OrderResponse updateOrder(Long id, OrderRequest request) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        SalesSummaryService.Contribution before = SalesSummaryService.Contribution.of(order);
 
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", request.getCustomerId()));
@@ -103,76 +157,147 @@ public class OrderService {
         order.setCustomerName(customer.getName());
         order.setEmployee(employee);
         order.setGstEnabled(request.getGstEnabled() != null ? request.getGstEnabled() : false);
+        applyTaxSettings(order, request, customer);
         order.setNotes(request.getNotes());
 
         // Update order items
+        Map<Long, CatalogItem> catalog = resolveItems(request.getItems());
         List<OrderItem> orderItems = request.getItems().stream()
-                .map(itemRequest -> createOrderItem(itemRequest))
+                .map(itemRequest -> createOrderItem(itemRequest, catalog))
                 .collect(Collectors.toList());
-        order.setItems(orderItems);
+        mergeItems(order.getItems(), orderItems);
 
         // Recalculate totals
-        calculateOrderTotals(order);
+        orderPricing.applyTotals(order);
 
         Order updated = orderRepository.save(order);
+        salesSummaryService.apply(before, SalesSummaryService.Contribution.of(updated));
+        receiptCache.evict(id);
         return convertToResponse(updated);
     }
 
     @Transactional
     public OrderResponse updateOrderStatus(Long id, Order.OrderStatus status) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        SalesSummaryService.Contribution before = SalesSummaryService.Contribution.of(order);
         order.setStatus(status);
         Order updated = orderRepository.save(order);
+        salesSummaryService.apply(before, SalesSummaryService.Contribution.of(updated));
+        receiptCache.evict(id);
         return convertToResponse(updated);
     }
 
+    @Transactional
     public void deleteOrder(Long id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        salesSummaryService.apply(SalesSummaryService.Contribution.of(order), null);
         orderRepository.delete(order);
+        receiptCache.evict(id);
     }
 
-    private OrderItem createOrderItem(OrderItemRequest request) {
-        Item item = itemRepository.findById(request.getItemId())
-                .orElseThrow(() -> new ResourceNotFoundException("Item", "id", request.getItemId()));
+    /**
+     * Builds a new, unsaved PENDING order with its lines and totals. Every item id in the request
+     * must be present in {@code catalog}.
+     */
+    Order buildOrder(OrderRequest request, Customer customer, Employee employee,
+                     Map<Long, CatalogItem> catalog, User createdBy) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
+        order.setCustomer(customer);
+        order.setCustomerName(customer.getName());
+        order.setEmployee(employee);
+        order.setGstEnabled(request.getGstEnabled() != null ? request.getGstEnabled() : false);
+        applyTaxSettings(order, request, customer);
+        order.setNotes(request.getNotes());
+        order.setCreatedBy(createdBy);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setBillingDate(LocalDate.now());
+
+        // Process order items
+        List<OrderItem> orderItems = request.getItems().stream()
+                .map(itemRequest -> createOrderItem(itemRequest, catalog))
+                .collect(Collectors.toList());
+        order.setItems(orderItems);
+
+        // Calculate totals
+        orderPricing.applyTotals(order);
+        return order;
+    }
+
+    /**
+     * Sets the default GST slab and the place of supply; an explicit {@code interState} in the request
+     * overrides the one derived from the customer's GSTIN.
+     */
+    private void applyTaxSettings(Order order, OrderRequest request, Customer customer) {
+        order.setGstRate(taxEngine.defaultRate());
+        order.setInterState(request.getInterState() != null
+                ? request.getInterState() : taxEngine.isInterState(customer));
+    }
+
+    /**
+     * Looks up every item referenced by the request in the catalog, failing with all missing ids at once.
+     */
+    private Map<Long, CatalogItem> resolveItems(List<OrderItemRequest> itemRequests) {
+        Set<Long> itemIds = itemRequests.stream()
+                .map(OrderItemRequest::getItemId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, CatalogItem> items = itemCatalog.getAll(itemIds);
+
+        List<Long> missingIds = itemIds.stream()
+                .filter(itemId -> !items.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Item", "id", missingIds);
+        }
+        return items;
+    }
+
+    private OrderItem createOrderItem(OrderItemRequest request, Map<Long, CatalogItem> catalog) {
+        CatalogItem item = catalog.get(request.getItemId());
 
         OrderItem orderItem = new OrderItem();
-        orderItem.setItemId(item.getId());
-        orderItem.setItemName(item.getName());
+        orderItem.setItemId(item.id());
+        orderItem.setItemName(item.name());
         orderItem.setQuantity(request.getQuantity());
-        orderItem.setPrice(request.getPrice());
-        orderItem.setUnit(item.getUnit());
-        
-        BigDecimal itemTotal = request.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
-        orderItem.setTotal(itemTotal);
+        orderItem.setPrice(orderPricing.unitPrice(request.getPrice()));
+        orderItem.setUnit(item.unit());
+        orderItem.setHsnCode(item.hsnCode());
+        orderItem.setGstRate(taxEngine.rateFor(item));
+        orderItem.setTotal(orderPricing.lineTotal(orderItem.getPrice(), request.getQuantity()));
 
         return orderItem;
     }
 
-    private void calculateOrderTotals(Order order) {
-        // Calculate subtotal
-        BigDecimal subtotal = order.getItems().stream()
-                .map(OrderItem::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        order.setSubtotal(subtotal);
-
-        // Calculate GST
-        if (order.getGstEnabled()) {
-            BigDecimal gstRate = BigDecimal.valueOf(order.getGstRate()).divide(BigDecimal.valueOf(100));
-            BigDecimal gstAmount = subtotal.multiply(gstRate);
-            order.setGstAmount(gstAmount);
-            order.setTotal(subtotal.add(gstAmount));
-        } else {
-            order.setGstAmount(BigDecimal.ZERO);
-            order.setTotal(subtotal);
+    /**
+     * Applies the new lines position by position on the managed list, so Hibernate only writes
+     * UPDATEs for changed lines, INSERTs for appended ones and DELETEs for the truncated tail.
+     */
+    private void mergeItems(List<OrderItem> current, List<OrderItem> updated) {
+        for (int i = 0; i < updated.size(); i++) {
+            OrderItem line = updated.get(i);
+            if (i >= current.size()) {
+                current.add(line);
+            } else if (!isSameLine(current.get(i), line)) {
+                current.set(i, line);
+            }
+        }
+        while (current.size() > updated.size()) {
+            current.remove(current.size() - 1);
         }
     }
 
-    private String generateOrderNumber() {
-        String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = orderRepository.count() + 1;
-        return String.format("ORD-%s-%04d", datePart, count);
+    private boolean isSameLine(OrderItem a, OrderItem b) {
+        return Objects.equals(a.getItemId(), b.getItemId())
+                && Objects.equals(a.getItemName(), b.getItemName())
+                && Objects.equals(a.getQuantity(), b.getQuantity())
+                && Objects.equals(a.getUnit(), b.getUnit())
+                && Objects.equals(a.getHsnCode(), b.getHsnCode())
+                && Objects.equals(a.getGstRate(), b.getGstRate())
+                && a.getPrice().compareTo(b.getPrice()) == 0
+                && a.getTotal().compareTo(b.getTotal()) == 0;
     }
 
     private OrderResponse convertToResponse(Order order) {
@@ -182,6 +307,8 @@ public class OrderService {
         response.setCustomerId(order.getCustomer().getId());
         response.setCustomerName(order.getCustomerName());
         response.setCustomerPhone(order.getCustomer().getPhone());
+        response.setCustomerGst(order.getCustomer().getGst());
+        response.setCustomerAddress(order.getCustomer().getAddress());
         
         if (order.getEmployee() != null) {
             response.setEmployeeId(order.getEmployee().getId());
@@ -197,6 +324,10 @@ public class OrderService {
         response.setGstEnabled(order.getGstEnabled());
         response.setGstAmount(order.getGstAmount());
         response.setGstRate(order.getGstRate());
+        response.setInterState(order.getInterState());
+        response.setCgstAmount(order.getCgstAmount());
+        response.setSgstAmount(order.getSgstAmount());
+        response.setIgstAmount(order.getIgstAmount());
         response.setTotal(order.getTotal());
         response.setStatus(order.getStatus().name());
         response.setBillingDate(order.getBillingDate());
@@ -207,6 +338,57 @@ public class OrderService {
         return response;
     }
 
+    private OrderResponse convertToResponse(OrderHeaderView header, List<OrderLineView> lines) {
+        OrderResponse response = new OrderResponse();
+        response.setId(header.id());
+        response.setOrderNumber(header.orderNumber());
+        response.setCustomerId(header.customerId());
+        response.setCustomerName(header.customerName());
+        response.setCustomerPhone(header.customerPhone());
+        response.setCustomerGst(header.customerGst());
+        response.setCustomerAddress(header.customerAddress());
+        response.setEmployeeId(header.employeeId());
+        response.setEmployeeName(header.employeeName());
+
+        List<OrderItemResponse> itemResponses = lines.stream()
+                .map(this::convertOrderLineToResponse)
+                .collect(Collectors.toList());
+        response.setItems(itemResponses);
+
+        response.setSubtotal(header.subtotal());
+        response.setGstEnabled(header.gstEnabled());
+        response.setGstAmount(header.gstAmount());
+        response.setGstRate(header.gstRate());
+        response.setInterState(header.interState());
+        response.setCgstAmount(header.cgstAmount());
+        response.setSgstAmount(header.sgstAmount());
+        response.setIgstAmount(header.igstAmount());
+        response.setTotal(header.total());
+        response.setStatus(header.status().name());
+        response.setBillingDate(header.billingDate());
+        response.setNotes(header.notes());
+        response.setCreatedAt(header.createdAt());
+        response.setUpdatedAt(header.updatedAt());
+
+        return response;
+    }
+
+    private OrderItemResponse convertOrderLineToResponse(OrderLineView line) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setItemId(line.itemId());
+        response.setItemName(line.itemName());
+        response.setQuantity(line.quantity());
+        response.setPrice(line.price());
+        response.setUnit(line.unit());
+        response.setTotal(line.total());
+        response.setHsnCode(line.hsnCode());
+        response.setGstRate(line.gstRate());
+        response.setCgstAmount(line.cgstAmount());
+        response.setSgstAmount(line.sgstAmount());
+        response.setIgstAmount(line.igstAmount());
+        return response;
+    }
+
     private OrderItemResponse convertOrderItemToResponse(OrderItem item) {
         OrderItemResponse response = new OrderItemResponse();
         response.setItemId(item.getItemId());
@@ -215,13 +397,11 @@ public class OrderService {
         response.setPrice(item.getPrice());
         response.setUnit(item.getUnit());
         response.setTotal(item.getTotal());
+        response.setHsnCode(item.getHsnCode());
+        response.setGstRate(item.getGstRate());
+        response.setCgstAmount(item.getCgstAmount());
+        response.setSgstAmount(item.getSgstAmount());
+        response.setIgstAmount(item.getIgstAmount());
         return response;
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-    }
 }
@@ -0,0 +1,52 @@
+package com.quotation.service;
+
+import com.quotation.dto.ReceiptVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of rendered receipts, bounded by total document size. An entry is only served while the
+ * updatedAt of the order and of its customer still match the ones it was rendered from.
+ */
+@Component
+public class ReceiptCache {
+
+    @Value("${receipts.cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    private final LinkedHashMap<Long, ReceiptService.Receipt> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public synchronized ReceiptService.Receipt get(Long orderId, ReceiptVersion version) {
+        ReceiptService.Receipt receipt = entries.get(orderId);
+        return receipt != null && receipt.version().equals(version) ? receipt : null;
+    }
+
+    public synchronized void put(Long orderId, ReceiptService.Receipt receipt) {
+        if (receipt.content().length > maxBytes) {
+            return;
+        }
+        ReceiptService.Receipt previous = entries.put(orderId, receipt);
+        if (previous != null) {
+            totalBytes -= previous.content().length;
+        }
+        totalBytes += receipt.content().length;
+
+        Iterator<Map.Entry<Long, ReceiptService.Receipt>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().content().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void evict(Long orderId) {
+        ReceiptService.Receipt removed = entries.remove(orderId);
+        if (removed != null) {
+            totalBytes -= removed.content().length;
+        }
+    }
+}
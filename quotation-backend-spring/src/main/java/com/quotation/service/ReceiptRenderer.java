@@ -0,0 +1,207 @@
+package com.quotation.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.quotation.dto.OrderItemResponse;
+import com.quotation.dto.OrderResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Renders an order as a printable A4 quotation/receipt PDF.
+ */
+@Component
+public class ReceiptRenderer {
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private static final Font BODY_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+    private static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final float[] LINE_COLUMN_WIDTHS = {0.6f, 3.4f, 1.1f, 0.8f, 0.8f, 0.8f, 1.3f, 1.5f};
+
+    public byte[] render(OrderResponse order) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(8 * 1024 + order.getItems().size() * 128);
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+        try {
+            PdfWriter.getInstance(document, output);
+            document.open();
+            addHeader(document, order);
+            addLines(document, order);
+            addTotals(document, order);
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Could not render receipt for order " + order.getOrderNumber(), e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private void addHeader(Document document, OrderResponse order) throws DocumentException {
+        Paragraph title = new Paragraph("QUOTATION", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(12);
+        document.add(title);
+
+        PdfPTable header = new PdfPTable(2);
+        header.setWidthPercentage(100);
+        header.addCell(borderless("Order No: " + order.getOrderNumber(), BODY_FONT, Element.ALIGN_LEFT));
+        header.addCell(borderless("Date: " + order.getBillingDate().format(DATE_FORMAT), BODY_FONT, Element.ALIGN_RIGHT));
+        header.addCell(borderless("Customer: " + order.getCustomerName(), BODY_FONT, Element.ALIGN_LEFT));
+        header.addCell(borderless("Status: " + order.getStatus(), BODY_FONT, Element.ALIGN_RIGHT));
+        header.addCell(borderless("Phone: " + nullToEmpty(order.getCustomerPhone()), BODY_FONT, Element.ALIGN_LEFT));
+        header.addCell(borderless(order.getEmployeeName() != null ? "Sales: " + order.getEmployeeName() : "",
+                BODY_FONT, Element.ALIGN_RIGHT));
+        if (order.getCustomerGst() != null) {
+            header.addCell(borderless("GSTIN: " + order.getCustomerGst(), BODY_FONT, Element.ALIGN_LEFT));
+            header.addCell(borderless("", BODY_FONT, Element.ALIGN_RIGHT));
+        }
+        if (order.getCustomerAddress() != null) {
+            PdfPCell address = borderless("Address: " + order.getCustomerAddress(), BODY_FONT, Element.ALIGN_LEFT);
+            address.setColspan(2);
+            header.addCell(address);
+        }
+        header.setSpacingAfter(12);
+        document.add(header);
+    }
+
+    private void addLines(Document document, OrderResponse order) throws DocumentException {
+        PdfPTable lines = new PdfPTable(LINE_COLUMN_WIDTHS);
+        lines.setWidthPercentage(100);
+        // Repeat the column header on every page of long quotations
+        lines.setHeaderRows(1);
+        for (String column : new String[]{"#", "Item", "HSN", "GST %", "Qty", "Unit", "Price", "Amount"}) {
+            lines.addCell(cell(column, HEADER_FONT, Element.ALIGN_CENTER));
+        }
+
+        int lineNumber = 1;
+        for (OrderItemResponse item : order.getItems()) {
+            lines.addCell(cell(String.valueOf(lineNumber++), BODY_FONT, Element.ALIGN_CENTER));
+            lines.addCell(cell(item.getItemName(), BODY_FONT, Element.ALIGN_LEFT));
+            lines.addCell(cell(nullToEmpty(item.getHsnCode()), BODY_FONT, Element.ALIGN_CENTER));
+            lines.addCell(cell(item.getGstRate() != null ? item.getGstRate() + "%" : "", BODY_FONT, Element.ALIGN_CENTER));
+            lines.addCell(cell(String.valueOf(item.getQuantity()), BODY_FONT, Element.ALIGN_RIGHT));
+            lines.addCell(cell(nullToEmpty(item.getUnit()), BODY_FONT, Element.ALIGN_CENTER));
+            lines.addCell(cell(money(item.getPrice()), BODY_FONT, Element.ALIGN_RIGHT));
+            lines.addCell(cell(money(item.getTotal()), BODY_FONT, Element.ALIGN_RIGHT));
+        }
+        lines.setSpacingAfter(8);
+        document.add(lines);
+    }
+
+    private void addTotals(Document document, OrderResponse order) throws DocumentException {
+        PdfPTable totals = new PdfPTable(2);
+        totals.setWidthPercentage(40);
+        totals.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        addTotalRow(totals, "Subtotal", order.getSubtotal(), BODY_FONT);
+
+        if (Boolean.TRUE.equals(order.getGstEnabled())) {
+            if (hasLineTax(order)) {
+                addTaxRows(totals, order);
+            } else {
+                addLegacyTaxRows(totals, order);
+            }
+        }
+
+        addTotalRow(totals, "Total", order.getTotal(), TOTAL_FONT);
+        document.add(totals);
+
+        if (order.getNotes() != null && !order.getNotes().isBlank()) {
+            Paragraph notes = new Paragraph("Notes: " + order.getNotes(), BODY_FONT);
+            notes.setSpacingBefore(12);
+            document.add(notes);
+        }
+    }
+
+    private boolean hasLineTax(OrderResponse order) {
+        return order.getItems().stream().allMatch(item -> item.getGstRate() != null && item.getCgstAmount() != null);
+    }
+
+    /**
+     * One row per tax and slab, summed from the line amounts so the receipt matches the stored totals.
+     */
+    private void addTaxRows(PdfPTable totals, OrderResponse order) {
+        // rate -> {cgst, sgst, igst}
+        Map<Integer, BigDecimal[]> byRate = new TreeMap<>();
+        for (OrderItemResponse item : order.getItems()) {
+            BigDecimal[] sums = byRate.computeIfAbsent(item.getGstRate(),
+                    rate -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+            sums[0] = sums[0].add(item.getCgstAmount());
+            sums[1] = sums[1].add(item.getSgstAmount());
+            sums[2] = sums[2].add(item.getIgstAmount());
+        }
+        boolean interState = Boolean.TRUE.equals(order.getInterState());
+        for (Map.Entry<Integer, BigDecimal[]> entry : byRate.entrySet()) {
+            BigDecimal[] sums = entry.getValue();
+            if (interState) {
+                addTotalRow(totals, "IGST @ " + entry.getKey() + "%", sums[2], BODY_FONT);
+            } else {
+                String halfRate = halfRate(entry.getKey());
+                addTotalRow(totals, "CGST @ " + halfRate + "%", sums[0], BODY_FONT);
+                addTotalRow(totals, "SGST @ " + halfRate + "%", sums[1], BODY_FONT);
+            }
+        }
+    }
+
+    /**
+     * Orders priced before per-line tax only stored the GST total at a single rate; split it equally.
+     */
+    private void addLegacyTaxRows(PdfPTable totals, OrderResponse order) {
+        BigDecimal cgst = order.getGstAmount().divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+        BigDecimal sgst = order.getGstAmount().subtract(cgst);
+        String halfRate = halfRate(order.getGstRate());
+        addTotalRow(totals, "CGST @ " + halfRate + "%", cgst, BODY_FONT);
+        addTotalRow(totals, "SGST @ " + halfRate + "%", sgst, BODY_FONT);
+    }
+
+    private String halfRate(int rate) {
+        return BigDecimal.valueOf(rate).divide(BigDecimal.valueOf(2)).stripTrailingZeros().toPlainString();
+    }
+
+    private void addTotalRow(PdfPTable table, String label, BigDecimal amount, Font font) {
+        table.addCell(cell(label, font, Element.ALIGN_LEFT));
+        table.addCell(cell(money(amount), font, Element.ALIGN_RIGHT));
+    }
+
+    private PdfPCell cell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(4);
+        return cell;
+    }
+
+    private PdfPCell borderless(String text, Font font, int alignment) {
+        PdfPCell cell = cell(text, font, alignment);
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setPadding(2);
+        return cell;
+    }
+
+    private String money(BigDecimal amount) {
+        return amount == null ? "" : amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,46 @@
+package com.quotation.service;
+
+import com.quotation.dto.OrderResponse;
+import com.quotation.dto.ReceiptVersion;
+import com.quotation.exception.ResourceNotFoundException;
+import com.quotation.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReceiptService {
+
+    public record Receipt(String orderNumber, ReceiptVersion version, byte[] content) {
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReceiptRenderer receiptRenderer;
+
+    @Autowired
+    private ReceiptCache receiptCache;
+
+    /**
+     * Returns the rendered receipt, re-rendering only when the order or its customer changed since it was
+     * cached.
+     */
+    public Receipt getReceipt(Long orderId) {
+        ReceiptVersion version = orderRepository.findReceiptVersionById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        Receipt cached = receiptCache.get(orderId, version);
+        if (cached != null) {
+            return cached;
+        }
+
+        OrderResponse order = orderService.getOrderById(orderId);
+        // Keeps the version read before rendering, so a concurrent edit at worst causes one extra render
+        Receipt receipt = new Receipt(order.getOrderNumber(), version, receiptRenderer.render(order));
+        receiptCache.put(orderId, receipt);
+        return receipt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.quotation.service;
+
+import com.quotation.entity.RefreshToken;
+import com.quotation.entity.User;
+import com.quotation.exception.InvalidTokenException;
+import com.quotation.repository.RefreshTokenRepository;
+import com.quotation.repository.UserRepository;
+import com.quotation.security.JwtProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each token can be exchanged once; presenting a token that
+ * was already exchanged is treated as theft and revokes every refresh token of that user.
+ */
+@Service
+public class RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Transactional
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(userRepository.getReferenceById(userId));
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(jwtProperties.getRefreshExpiration()));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    /**
+     * Revokes {@code token} and returns its user, who may then be issued a new pair of tokens.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public User exchange(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        User user = refreshToken.getUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (refreshToken.getRevokedAt() != null || refreshTokenRepository.revoke(refreshToken.getId(), now) == 0) {
+            refreshTokenRepository.revokeAllForUser(user.getId(), now);
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+        if (!user.getIsActive()) {
+            throw new InvalidTokenException("User account is inactive");
+        }
+        return user;
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.revoke(refreshToken.getId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
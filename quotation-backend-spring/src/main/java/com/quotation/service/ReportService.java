@@ -0,0 +1,175 @@
+package com.quotation.service;
+
+import com.quotation.dto.SalesBucket;
+import com.quotation.dto.SalesReport;
+import com.quotation.dto.SalesReportQuery;
+import com.quotation.dto.SalesReportRow;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Employee;
+import com.quotation.entity.Order;
+import com.quotation.entity.SalesSummary;
+import com.quotation.repository.CustomerRepository;
+import com.quotation.repository.EmployeeRepository;
+import com.quotation.repository.SalesSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sales figures read from {@code sales_summary}; every report costs a scan of the buckets in the date range,
+ * independent of the number of orders.
+ */
+@Service
+public class ReportService {
+
+    private enum Grouping {
+        DAY, MONTH, CUSTOMER, EMPLOYEE, ITEM, STATUS
+    }
+
+    @Autowired
+    private SalesSummaryRepository salesSummaryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Value("${reports.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${reports.max-limit:500}")
+    private int maxLimit;
+
+    @Transactional(readOnly = true)
+    public SalesReport getSalesReport(SalesReportQuery query) {
+        LocalDate to = query.getTo() != null ? query.getTo() : LocalDate.now();
+        LocalDate from = query.getFrom() != null ? query.getFrom() : to.withDayOfMonth(1).minusMonths(11);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Grouping grouping = parseGrouping(query.getGroupBy());
+        Set<Order.OrderStatus> statuses = query.getStatus() == null || query.getStatus().isEmpty()
+                ? EnumSet.copyOf(SalesSummaryService.BILLED) : EnumSet.copyOf(query.getStatus());
+
+        List<SalesBucket> daily = salesSummaryRepository.sumByDate(from, to, statuses);
+        List<SalesReportRow> rows = switch (grouping) {
+            case DAY -> daily.stream()
+                    .map(bucket -> toRow(bucket.getBucket().toString(), null, bucket, false))
+                    .collect(Collectors.toList());
+            case MONTH -> byMonth(daily);
+            case STATUS -> salesSummaryRepository.sumByStatus(from, to, statuses).stream()
+                    .map(bucket -> toRow(bucket.getBucket().toString(), null, bucket, false))
+                    .collect(Collectors.toList());
+            case CUSTOMER -> byMember(SalesSummary.Dimension.CUSTOMER, from, to, statuses, query.getLimit(),
+                    ids -> customerRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Customer::getId, Customer::getName)));
+            case EMPLOYEE -> byMember(SalesSummary.Dimension.EMPLOYEE, from, to, statuses, query.getLimit(),
+                    ids -> employeeRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Employee::getId, Employee::getName)));
+            case ITEM -> byMember(SalesSummary.Dimension.ITEM, from, to, statuses, query.getLimit(),
+                    ids -> itemCatalog.getAll(ids).values().stream()
+                            .collect(Collectors.toMap(CatalogItem::id, CatalogItem::name)));
+        };
+
+        SalesReport report = new SalesReport();
+        report.setFrom(from);
+        report.setTo(to);
+        report.setGroupBy(grouping.name().toLowerCase(Locale.ROOT));
+        report.setStatuses(statuses.stream().map(Enum::name).collect(Collectors.toList()));
+        report.setTotals(sum("total", daily));
+        report.setRows(rows);
+        return report;
+    }
+
+    private Grouping parseGrouping(String groupBy) {
+        try {
+            return Grouping.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException(
+                    "groupBy must be one of day, month, customer, employee, item or status");
+        }
+    }
+
+    private List<SalesReportRow> byMonth(List<SalesBucket> daily) {
+        Map<YearMonth, List<SalesBucket>> months = daily.stream()
+                .collect(Collectors.groupingBy(bucket -> YearMonth.from((LocalDate) bucket.getBucket()),
+                        LinkedHashMap::new, Collectors.toList()));
+        List<SalesReportRow> rows = new ArrayList<>(months.size());
+        months.forEach((month, buckets) -> rows.add(sum(month.toString(), buckets)));
+        return rows;
+    }
+
+    private List<SalesReportRow> byMember(SalesSummary.Dimension dimension, LocalDate from, LocalDate to,
+                                          Set<Order.OrderStatus> statuses, Integer limit,
+                                          Function<List<Long>, Map<Long, String>> labels) {
+        int size = Listings.pageSize(limit, defaultLimit, maxLimit);
+        List<SalesBucket> buckets = salesSummaryRepository.sumByMember(dimension, from, to, statuses,
+                PageRequest.of(0, size));
+        Map<Long, String> names = labels.apply(buckets.stream()
+                .map(bucket -> (Long) bucket.getBucket())
+                .collect(Collectors.toList()));
+        boolean items = dimension == SalesSummary.Dimension.ITEM;
+        return buckets.stream()
+                .map(bucket -> toRow(bucket.getBucket().toString(), names.get((Long) bucket.getBucket()), bucket, items))
+                .collect(Collectors.toList());
+    }
+
+    private SalesReportRow sum(String key, List<SalesBucket> buckets) {
+        SalesReportRow row = new SalesReportRow();
+        row.setKey(key);
+        long orderCount = 0;
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal gstAmount = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+        for (SalesBucket bucket : buckets) {
+            orderCount += bucket.getOrderCount();
+            subtotal = subtotal.add(bucket.getSubtotal());
+            gstAmount = gstAmount.add(bucket.getGstAmount());
+            total = total.add(bucket.getTotal());
+        }
+        row.setOrderCount(orderCount);
+        row.setSubtotal(subtotal);
+        row.setGstAmount(gstAmount);
+        row.setTotal(total);
+        row.setAverageOrderValue(average(total, orderCount));
+        return row;
+    }
+
+    private SalesReportRow toRow(String key, String label, SalesBucket bucket, boolean withQuantity) {
+        SalesReportRow row = new SalesReportRow();
+        row.setKey(key);
+        row.setLabel(label);
+        row.setOrderCount(bucket.getOrderCount());
+        row.setQuantity(withQuantity ? bucket.getQuantity() : null);
+        row.setSubtotal(bucket.getSubtotal());
+        row.setGstAmount(bucket.getGstAmount());
+        row.setTotal(bucket.getTotal());
+        row.setAverageOrderValue(average(bucket.getTotal(), bucket.getOrderCount()));
+        return row;
+    }
+
+    private BigDecimal average(BigDecimal total, long orderCount) {
+        return orderCount == 0 ? BigDecimal.ZERO.setScale(2)
+                : total.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,294 @@
+package com.quotation.service;
+
+import com.quotation.dto.CustomerLifetimeValue;
+import com.quotation.dto.ItemRanking;
+import com.quotation.dto.RankingQuery;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Order;
+import com.quotation.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Rankings that need every order line, such as top-selling items and customer lifetime value. The order id
+ * range is split into partitions that are scanned in parallel on a fork-join pool. Each partition folds its
+ * rows into a {@link LongTable} keyed by item or customer id, and the partial tables are merged pairwise as
+ * the tasks join. Money is accumulated in paise so that no {@code BigDecimal} is created per row. Each
+ * partition is read in its own read-only transaction with a fetch size, because PostgreSQL's driver only
+ * streams a result set through a cursor outside auto-commit and otherwise buffers the whole partition.
+ */
+@Service
+public class SalesRankingService {
+
+    private enum ItemMeasure {
+        QUANTITY, REVENUE
+    }
+
+    private enum CustomerMeasure {
+        REVENUE, ORDERS
+    }
+
+    // Item table columns
+    private static final int QUANTITY = 0;
+    private static final int ITEM_REVENUE = 1;
+
+    // Customer table columns
+    private static final int ORDERS = 0;
+    private static final int CUSTOMER_REVENUE = 1;
+    private static final int FIRST_ORDER = 2;
+    private static final int LAST_ORDER = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Value("${reports.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${reports.batch.partition-size:50000}")
+    private long partitionSize;
+
+    @Value("${reports.batch.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${reports.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${reports.max-limit:500}")
+    private int maxLimit;
+
+    private ForkJoinPool pool;
+
+    private JdbcTemplate partitionTemplate;
+
+    private TransactionTemplate partitionTransaction;
+
+    /**
+     * What one partition scan selects and how each row is folded into the table.
+     */
+    private record Scan(String sql, Object[] args, LongTable.Fold[] folds, RowFolder folder) {
+    }
+
+    @FunctionalInterface
+    private interface RowFolder {
+        void fold(ResultSet rs, LongTable table) throws SQLException;
+    }
+
+    @PostConstruct
+    void init() {
+        // Every running leaf holds a database connection, so the pool must stay well below the connection
+        // pool size. Scans block on JDBC without ManagedBlocker on purpose: compensating threads would open
+        // more connections.
+        pool = new ForkJoinPool(Math.max(parallelism, 1));
+        partitionTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        partitionTemplate.setFetchSize(fetchSize);
+        partitionTransaction = new TransactionTemplate(transactionManager);
+        partitionTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    public List<ItemRanking> topItems(RankingQuery query) {
+        ItemMeasure measure = parse(ItemMeasure.class, query.getBy(), ItemMeasure.QUANTITY);
+        StringBuilder sql = new StringBuilder("SELECT oi.item_id, oi.quantity, CAST(oi.total * 100 AS BIGINT) "
+                + "FROM orders o JOIN order_items oi ON oi.order_id = o.id WHERE o.id BETWEEN ? AND ?");
+        Object[] args = filter(query, sql);
+        LongTable table = scan(new Scan(sql.toString(), args,
+                new LongTable.Fold[]{LongTable.Fold.SUM, LongTable.Fold.SUM},
+                (rs, t) -> {
+                    int row = t.row(rs.getLong(1));
+                    t.accumulate(row, QUANTITY, rs.getLong(2));
+                    t.accumulate(row, ITEM_REVENUE, rs.getLong(3));
+                }));
+
+        int[] rows = table.top(measure == ItemMeasure.QUANTITY ? QUANTITY : ITEM_REVENUE, limit(query));
+        Map<Long, CatalogItem> items = itemCatalog.getAll(keys(table, rows));
+        List<ItemRanking> ranking = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            ItemRanking entry = new ItemRanking();
+            entry.setRank(i + 1);
+            entry.setItemId(table.key(rows[i]));
+            CatalogItem item = items.get(entry.getItemId());
+            entry.setName(item != null ? item.name() : null);
+            entry.setQuantity(table.get(rows[i], QUANTITY));
+            entry.setRevenue(rupees(table.get(rows[i], ITEM_REVENUE)));
+            ranking.add(entry);
+        }
+        return ranking;
+    }
+
+    public List<CustomerLifetimeValue> customerLifetimeValue(RankingQuery query) {
+        CustomerMeasure measure = parse(CustomerMeasure.class, query.getBy(), CustomerMeasure.REVENUE);
+        StringBuilder sql = new StringBuilder("SELECT o.customer_id, CAST(o.total * 100 AS BIGINT), o.billing_date "
+                + "FROM orders o WHERE o.id BETWEEN ? AND ?");
+        Object[] args = filter(query, sql);
+        LongTable table = scan(new Scan(sql.toString(), args,
+                new LongTable.Fold[]{LongTable.Fold.SUM, LongTable.Fold.SUM, LongTable.Fold.MIN, LongTable.Fold.MAX},
+                (rs, t) -> {
+                    int row = t.row(rs.getLong(1));
+                    long day = rs.getObject(3, LocalDate.class).toEpochDay();
+                    t.accumulate(row, ORDERS, 1);
+                    t.accumulate(row, CUSTOMER_REVENUE, rs.getLong(2));
+                    t.accumulate(row, FIRST_ORDER, day);
+                    t.accumulate(row, LAST_ORDER, day);
+                }));
+
+        int[] rows = table.top(measure == CustomerMeasure.ORDERS ? ORDERS : CUSTOMER_REVENUE, limit(query));
+        Map<Long, String> names = customerRepository.findAllById(keys(table, rows)).stream()
+                .collect(Collectors.toMap(Customer::getId, Customer::getName));
+        List<CustomerLifetimeValue> ranking = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            CustomerLifetimeValue entry = new CustomerLifetimeValue();
+            long orders = table.get(rows[i], ORDERS);
+            BigDecimal revenue = rupees(table.get(rows[i], CUSTOMER_REVENUE));
+            entry.setRank(i + 1);
+            entry.setCustomerId(table.key(rows[i]));
+            entry.setName(names.get(entry.getCustomerId()));
+            entry.setOrderCount(orders);
+            entry.setRevenue(revenue);
+            entry.setAverageOrderValue(revenue.divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP));
+            entry.setFirstOrderDate(LocalDate.ofEpochDay(table.get(rows[i], FIRST_ORDER)));
+            entry.setLastOrderDate(LocalDate.ofEpochDay(table.get(rows[i], LAST_ORDER)));
+            ranking.add(entry);
+        }
+        return ranking;
+    }
+
+    /**
+     * Appends the date and status conditions of {@code query} and returns their arguments.
+     */
+    private Object[] filter(RankingQuery query, StringBuilder sql) {
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        List<Object> args = new ArrayList<>();
+        if (query.getFrom() != null) {
+            sql.append(" AND o.billing_date >= ?");
+            args.add(query.getFrom());
+        }
+        if (query.getTo() != null) {
+            sql.append(" AND o.billing_date <= ?");
+            args.add(query.getTo());
+        }
+        Set<Order.OrderStatus> statuses = query.getStatus() == null || query.getStatus().isEmpty()
+                ? EnumSet.copyOf(SalesSummaryService.BILLED) : EnumSet.copyOf(query.getStatus());
+        if (statuses.size() < Order.OrderStatus.values().length) {
+            sql.append(" AND o.status IN (")
+                    .append(statuses.stream().map(status -> "?").collect(Collectors.joining(", ")))
+                    .append(')');
+            statuses.forEach(status -> args.add(status.name()));
+        }
+        return args.toArray();
+    }
+
+    private LongTable scan(Scan scan) {
+        long[] range = jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM orders",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        if (range == null || range[1] == 0) {
+            return new LongTable(scan.folds());
+        }
+        return pool.invoke(new PartitionTask(scan, range[0], range[1]));
+    }
+
+    private class PartitionTask extends RecursiveTask<LongTable> {
+
+        private final Scan scan;
+        private final long fromId;
+        private final long toId;
+
+        PartitionTask(Scan scan, long fromId, long toId) {
+            this.scan = scan;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected LongTable compute() {
+            if (toId - fromId < partitionSize) {
+                return scanPartition();
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            PartitionTask upper = new PartitionTask(scan, middle + 1, toId);
+            upper.fork();
+            LongTable lower = new PartitionTask(scan, fromId, middle).compute();
+            LongTable other = upper.join();
+            // Merge the smaller table into the larger one
+            if (lower.size() < other.size()) {
+                other.merge(lower);
+                return other;
+            }
+            lower.merge(other);
+            return lower;
+        }
+
+        private LongTable scanPartition() {
+            LongTable table = new LongTable(scan.folds());
+            Object[] args = new Object[scan.args().length + 2];
+            args[0] = fromId;
+            args[1] = toId;
+            System.arraycopy(scan.args(), 0, args, 2, scan.args().length);
+            partitionTransaction.executeWithoutResult(status -> partitionTemplate.query(scan.sql(), rs -> {
+                scan.folder().fold(rs, table);
+            }, args));
+            return table;
+        }
+    }
+
+    private int limit(RankingQuery query) {
+        return Listings.pageSize(query.getLimit(), defaultLimit, maxLimit);
+    }
+
+    private static List<Long> keys(LongTable table, int[] rows) {
+        return Arrays.stream(rows).mapToObj(table::key).collect(Collectors.toList());
+    }
+
+    private static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("by must be one of " + Arrays.stream(type.getEnumConstants())
+                    .map(constant -> constant.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.quotation.service;
+
+import com.quotation.entity.Order;
+import com.quotation.entity.OrderItem;
+import com.quotation.entity.SalesSummary.Dimension;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code sales_summary} and {@code customer_order_summary} in step with the orders table. Callers
+ * capture an order's {@link Contribution} before and after changing it and pass both to {@link #apply} inside
+ * the same transaction; the difference is added to the affected rows with one upsert per row. The order must
+ * have been loaded with its row locked, or two concurrent edits would both subtract the same "before".
+ */
+@Service
+public class SalesSummaryService {
+
+    private static final String COLUMNS =
+            "dimension, dimension_id, bucket_date, status, order_count, quantity, subtotal, gst_amount, total";
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO sales_summary (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (dimension, dimension_id, bucket_date, status) DO UPDATE SET "
+            + "order_count = sales_summary.order_count + EXCLUDED.order_count, "
+            + "quantity = sales_summary.quantity + EXCLUDED.quantity, "
+            + "subtotal = sales_summary.subtotal + EXCLUDED.subtotal, "
+            + "gst_amount = sales_summary.gst_amount + EXCLUDED.gst_amount, "
+            + "total = sales_summary.total + EXCLUDED.total";
+
+    private static final String MERGE_UPSERT = "MERGE INTO sales_summary s USING (VALUES (CAST(? AS VARCHAR(16)), "
+            + "CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS BIGINT), "
+            + "CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)))) "
+            + "v(" + COLUMNS + ") "
+            + "ON s.dimension = v.dimension AND s.dimension_id = v.dimension_id "
+            + "AND s.bucket_date = v.bucket_date AND s.status = v.status "
+            + "WHEN MATCHED THEN UPDATE SET order_count = s.order_count + v.order_count, "
+            + "quantity = s.quantity + v.quantity, subtotal = s.subtotal + v.subtotal, "
+            + "gst_amount = s.gst_amount + v.gst_amount, total = s.total + v.total "
+            + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (v.dimension, v.dimension_id, v.bucket_date, "
+            + "v.status, v.order_count, v.quantity, v.subtotal, v.gst_amount, v.total)";
+
+    private static final String CUSTOMER_COLUMNS =
+            "customer_id, order_count, total_billed, outstanding_value, last_order_date";
+
+    private static final String POSTGRES_CUSTOMER_UPSERT = "INSERT INTO customer_order_summary ("
+            + CUSTOMER_COLUMNS + ") VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (customer_id) DO UPDATE SET "
+            + "order_count = customer_order_summary.order_count + EXCLUDED.order_count, "
+            + "total_billed = customer_order_summary.total_billed + EXCLUDED.total_billed, "
+            + "outstanding_value = customer_order_summary.outstanding_value + EXCLUDED.outstanding_value, "
+            + "last_order_date = GREATEST(customer_order_summary.last_order_date, EXCLUDED.last_order_date)";
+
+    private static final String MERGE_CUSTOMER_UPSERT = "MERGE INTO customer_order_summary c USING (VALUES ("
+            + "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)), "
+            + "CAST(? AS DATE))) v(" + CUSTOMER_COLUMNS + ") ON c.customer_id = v.customer_id "
+            + "WHEN MATCHED THEN UPDATE SET order_count = c.order_count + v.order_count, "
+            + "total_billed = c.total_billed + v.total_billed, "
+            + "outstanding_value = c.outstanding_value + v.outstanding_value, "
+            // GREATEST yields null when either side is null outside PostgreSQL
+            + "last_order_date = COALESCE(GREATEST(c.last_order_date, v.last_order_date), c.last_order_date, "
+            + "v.last_order_date) "
+            + "WHEN NOT MATCHED THEN INSERT (" + CUSTOMER_COLUMNS + ") VALUES (v.customer_id, v.order_count, "
+            + "v.total_billed, v.outstanding_value, v.last_order_date)";
+
+    // Runs after the sales_summary upsert, so the customer's day buckets already reflect the change
+    private static final String CUSTOMER_LAST_ORDER_DATE = "UPDATE customer_order_summary SET last_order_date = "
+            + "(SELECT MAX(bucket_date) FROM sales_summary WHERE dimension = 'CUSTOMER' AND dimension_id = ? "
+            + "AND order_count > 0) WHERE customer_id = ?";
+
+    /**
+     * Statuses that count as sales: drafts are not billed yet and cancelled orders no longer are.
+     */
+    public static final Set<Order.OrderStatus> BILLED = Collections.unmodifiableSet(
+            EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.COMPLETED));
+
+    private static final Set<Order.OrderStatus> OUTSTANDING =
+            EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED);
+
+    private static final String[] REBUILD = {
+            "DELETE FROM sales_summary",
+            "INSERT INTO sales_summary (" + COLUMNS + ") "
+                    + "SELECT 'TOTAL', 0, billing_date, status, COUNT(*), 0, SUM(subtotal), SUM(gst_amount), SUM(total) "
+                    + "FROM orders GROUP BY billing_date, status",
+            "INSERT INTO sales_summary (" + COLUMNS + ") "
+                    + "SELECT 'CUSTOMER', customer_id, billing_date, status, COUNT(*), 0, SUM(subtotal), SUM(gst_amount), "
+                    + "SUM(total) FROM orders GROUP BY customer_id, billing_date, status",
+            "INSERT INTO sales_summary (" + COLUMNS + ") "
+                    + "SELECT 'EMPLOYEE', employee_id, billing_date, status, COUNT(*), 0, SUM(subtotal), SUM(gst_amount), "
+                    + "SUM(total) FROM orders WHERE employee_id IS NOT NULL GROUP BY employee_id, billing_date, status",
+            "INSERT INTO sales_summary (" + COLUMNS + ") "
+                    + "SELECT 'ITEM', oi.item_id, o.billing_date, o.status, COUNT(DISTINCT o.id), SUM(oi.quantity), "
+                    + "SUM(oi.total), 0, SUM(oi.total) FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+                    + "GROUP BY oi.item_id, o.billing_date, o.status",
+            "DELETE FROM customer_order_summary",
+            "INSERT INTO customer_order_summary (" + CUSTOMER_COLUMNS + ") "
+                    + "SELECT customer_id, COUNT(*), "
+                    + "COALESCE(SUM(CASE WHEN status IN ('PENDING', 'CONFIRMED', 'COMPLETED') THEN total END), 0), "
+                    + "COALESCE(SUM(CASE WHEN status IN ('PENDING', 'CONFIRMED') THEN total END), 0), "
+                    + "MAX(billing_date) FROM orders GROUP BY customer_id"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private boolean postgres;
+    private String upsertSql;
+    private String customerUpsertSql;
+
+    /**
+     * What one order adds to the summary. Amounts are rounded to the stored scale so that removing a
+     * contribution subtracts exactly what adding it stored.
+     */
+    public record Contribution(LocalDate date, Order.OrderStatus status, Long customerId, Long employeeId,
+                               BigDecimal subtotal, BigDecimal gstAmount, BigDecimal total, List<Line> lines) {
+
+        public record Line(Long itemId, int quantity, BigDecimal total) {
+        }
+
+        public static Contribution of(Order order) {
+            List<Line> lines = new ArrayList<>(order.getItems().size());
+            for (OrderItem item : order.getItems()) {
+                lines.add(new Line(item.getItemId(), item.getQuantity(), money(item.getTotal())));
+            }
+            return new Contribution(order.getBillingDate(), order.getStatus(), order.getCustomer().getId(),
+                    order.getEmployee() != null ? order.getEmployee().getId() : null,
+                    money(order.getSubtotal()), money(order.getGstAmount()), money(order.getTotal()), lines);
+        }
+
+        private static BigDecimal money(BigDecimal amount) {
+            return amount.setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    private record Bucket(Dimension dimension, long dimensionId, LocalDate date, Order.OrderStatus status) {
+    }
+
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator.comparing(Bucket::dimension)
+            .thenComparingLong(Bucket::dimensionId)
+            .thenComparing(Bucket::date)
+            .thenComparing(Bucket::status);
+
+    private static final class CustomerDelta {
+        long orderCount;
+        BigDecimal totalBilled = BigDecimal.ZERO;
+        BigDecimal outstandingValue = BigDecimal.ZERO;
+        LocalDate latestAdded;
+        boolean removed;
+    }
+
+    private static final class Delta {
+        long orderCount;
+        long quantity;
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal gstAmount = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+
+        void add(int sign, long orders, long units, BigDecimal subtotal, BigDecimal gstAmount, BigDecimal total) {
+            orderCount += sign * orders;
+            quantity += sign * units;
+            this.subtotal = sign > 0 ? this.subtotal.add(subtotal) : this.subtotal.subtract(subtotal);
+            this.gstAmount = sign > 0 ? this.gstAmount.add(gstAmount) : this.gstAmount.subtract(gstAmount);
+            this.total = sign > 0 ? this.total.add(total) : this.total.subtract(total);
+        }
+
+        boolean isZero() {
+            return orderCount == 0 && quantity == 0 && subtotal.signum() == 0
+                    && gstAmount.signum() == 0 && total.signum() == 0;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        upsertSql = postgres ? POSTGRES_UPSERT : MERGE_UPSERT;
+        customerUpsertSql = postgres ? POSTGRES_CUSTOMER_UPSERT : MERGE_CUSTOMER_UPSERT;
+    }
+
+    /**
+     * Fills the summary from existing orders the first time the application starts with it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM sales_summary) OR NOT EXISTS (SELECT 1 FROM customer_order_summary)",
+                Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes every bucket from the orders table. On PostgreSQL the summary is locked for the duration,
+     * so order writes that start meanwhile wait and apply their change on top of the rebuilt totals.
+     */
+    public void rebuild() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (postgres) {
+                jdbcTemplate.execute("LOCK TABLE sales_summary, customer_order_summary IN EXCLUSIVE MODE");
+            }
+            for (String sql : REBUILD) {
+                jdbcTemplate.update(sql);
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Contribution before, Contribution after) {
+        applyAll(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+
+    /**
+     * Removes the {@code before} contributions and adds the {@code after} ones. Buckets are written in a
+     * fixed order so that concurrent transactions touching the same buckets cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(Collection<Contribution> before, Collection<Contribution> after) {
+        Map<Bucket, Delta> deltas = new TreeMap<>(BUCKET_ORDER);
+        before.forEach(contribution -> collect(deltas, contribution, -1));
+        after.forEach(contribution -> collect(deltas, contribution, 1));
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((bucket, delta) -> {
+            if (!delta.isZero()) {
+                batch.add(new Object[]{bucket.dimension().name(), bucket.dimensionId(), Date.valueOf(bucket.date()),
+                        bucket.status().name(), delta.orderCount, delta.quantity, delta.subtotal, delta.gstAmount,
+                        delta.total});
+            }
+        });
+        upsert(upsertSql, batch);
+        applyCustomers(before, after);
+    }
+
+    /**
+     * Adds the change to {@code customer_order_summary}. The last order date only moves forward on its own;
+     * when an order is removed or changed it is recomputed from the customer's day buckets.
+     */
+    private void applyCustomers(Collection<Contribution> before, Collection<Contribution> after) {
+        Map<Long, CustomerDelta> deltas = new TreeMap<>();
+        for (Contribution c : before) {
+            CustomerDelta delta = deltas.computeIfAbsent(c.customerId(), id -> new CustomerDelta());
+            delta.orderCount--;
+            if (BILLED.contains(c.status())) {
+                delta.totalBilled = delta.totalBilled.subtract(c.total());
+            }
+            if (OUTSTANDING.contains(c.status())) {
+                delta.outstandingValue = delta.outstandingValue.subtract(c.total());
+            }
+            delta.removed = true;
+        }
+        for (Contribution c : after) {
+            CustomerDelta delta = deltas.computeIfAbsent(c.customerId(), id -> new CustomerDelta());
+            delta.orderCount++;
+            if (BILLED.contains(c.status())) {
+                delta.totalBilled = delta.totalBilled.add(c.total());
+            }
+            if (OUTSTANDING.contains(c.status())) {
+                delta.outstandingValue = delta.outstandingValue.add(c.total());
+            }
+            if (delta.latestAdded == null || c.date().isAfter(delta.latestAdded)) {
+                delta.latestAdded = c.date();
+            }
+        }
+
+        List<Object[]> upserts = new ArrayList<>(deltas.size());
+        List<Object[]> refreshes = new ArrayList<>();
+        deltas.forEach((customerId, delta) -> {
+            upserts.add(new Object[]{customerId, delta.orderCount, delta.totalBilled, delta.outstandingValue,
+                    delta.latestAdded != null ? Date.valueOf(delta.latestAdded) : null});
+            if (delta.removed) {
+                refreshes.add(new Object[]{customerId, customerId});
+            }
+        });
+        upsert(customerUpsertSql, upserts);
+        if (!refreshes.isEmpty()) {
+            jdbcTemplate.batchUpdate(CUSTOMER_LAST_ORDER_DATE, refreshes);
+        }
+    }
+
+    /**
+     * Runs the upsert for each row. PostgreSQL's ON CONFLICT is atomic, so the rows go in one batch. MERGE is
+     * not: two transactions adding the same new row both find it missing, and the second insert fails on the
+     * unique key once the first commits. Such rows are merged one at a time and retried once, when the row
+     * is there to update.
+     */
+    private void upsert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (postgres) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            return;
+        }
+        for (Object[] row : rows) {
+            try {
+                jdbcTemplate.update(sql, row);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(sql, row);
+            }
+        }
+    }
+
+    private void collect(Map<Bucket, Delta> deltas, Contribution c, int sign) {
+        add(deltas, new Bucket(Dimension.TOTAL, 0, c.date(), c.status()), sign, c);
+        add(deltas, new Bucket(Dimension.CUSTOMER, c.customerId(), c.date(), c.status()), sign, c);
+        if (c.employeeId() != null) {
+            add(deltas, new Bucket(Dimension.EMPLOYEE, c.employeeId(), c.date(), c.status()), sign, c);
+        }
+
+        // An item can appear on several lines; it still counts as one order for that item
+        Map<Long, Delta> items = new TreeMap<>();
+        for (Contribution.Line line : c.lines()) {
+            items.computeIfAbsent(line.itemId(), id -> new Delta())
+                    .add(1, 0, line.quantity(), line.total(), BigDecimal.ZERO, line.total());
+        }
+        items.forEach((itemId, item) -> deltas
+                .computeIfAbsent(new Bucket(Dimension.ITEM, itemId, c.date(), c.status()), bucket -> new Delta())
+                .add(sign, 1, item.quantity, item.subtotal, BigDecimal.ZERO, item.total));
+    }
+
+    private void add(Map<Bucket, Delta> deltas, Bucket bucket, int sign, Contribution c) {
+        deltas.computeIfAbsent(bucket, key -> new Delta())
+                .add(sign, 1, 0, c.subtotal(), c.gstAmount(), c.total());
+    }
+}
@@ -0,0 +1,70 @@
+package com.quotation.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hands out order numbers from blocks reserved with a single database sequence call.
+ * <p>
+ * The sequence increments by the block size, so every nextval reserves a range no other node can receive.
+ * Numbers inside a block are served from memory. Sequence values are never rolled back, so a failed order
+ * leaves a gap instead of a duplicate.
+ */
+@Component
+public class SequenceOrderNumberGenerator implements OrderNumberGenerator {
+
+    static final String SEQUENCE_NAME = "order_number_seq";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Must not change once the sequence exists: its increment is fixed when it is created
+    @Value("${orders.number.block-size:50}")
+    private int blockSize;
+
+    private String nextValueSql;
+
+    private long next;
+    private long limit;
+
+    @PostConstruct
+    void createSequence() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        nextValueSql = dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+
+        // Continue after the previous count-based numbers; MAX(id) is an index lookup and never below the count
+        Long start = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM orders", Long.class);
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME
+                + " START WITH " + start + " INCREMENT BY " + blockSize);
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        String datePart = LocalDate.now().format(DATE_FORMAT);
+        return String.format("ORD-%s-%04d", datePart, nextValue());
+    }
+
+    private synchronized long nextValue() {
+        if (next >= limit) {
+            Long blockStart = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            next = blockStart;
+            limit = blockStart + blockSize;
+        }
+        return next++;
+    }
+}
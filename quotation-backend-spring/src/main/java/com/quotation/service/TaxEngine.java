@@ -0,0 +1,41 @@
+package com.quotation.service;
+
+import com.quotation.entity.Customer;
+
+/**
+ * Decides which tax applies to an order line and how much of it. Amounts are in paise.
+ */
+public interface TaxEngine {
+
+    /**
+     * Tax on one line, split into its central, state and integrated parts.
+     */
+    record LineTax(long cgst, long sgst, long igst) {
+
+        public long total() {
+            return cgst + sgst + igst;
+        }
+    }
+
+    /**
+     * Rate for items that have no rate of their own or through their category.
+     */
+    int defaultRate();
+
+    /**
+     * Rate applied to {@code item}: its own, else its category's, else {@link #defaultRate()}.
+     */
+    int rateFor(CatalogItem item);
+
+    /**
+     * Rejects a rate that is not an allowed slab; null, meaning inherit the rate, is accepted.
+     */
+    void validateRate(Integer rate);
+
+    /**
+     * Whether supplying {@code customer} crosses state borders.
+     */
+    boolean isInterState(Customer customer);
+
+    LineTax lineTax(long taxableAmount, int rate, boolean interState);
+}
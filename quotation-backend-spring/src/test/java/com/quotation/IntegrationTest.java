@@ -0,0 +1,134 @@
+package com.quotation;
+
+import com.quotation.dto.OrderItemRequest;
+import com.quotation.dto.OrderRequest;
+import com.quotation.entity.Category;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import com.quotation.repository.CategoryRepository;
+import com.quotation.repository.CustomerRepository;
+import com.quotation.repository.ItemRepository;
+import com.quotation.repository.UserRepository;
+import com.quotation.security.AuthenticatedUser;
+import com.quotation.service.ItemCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base for tests against the full application on the in-memory H2 database. All subclasses share one
+ * application context, so the database is shared too: tests create their own rows under unique names and
+ * only assert on those.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CustomerRepository customerRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected ItemRepository itemRepository;
+
+    @Autowired
+    protected ItemCatalog itemCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    protected static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID();
+    }
+
+    protected User createUser(User.Role role) {
+        User user = new User();
+        user.setName("Test user");
+        user.setEmail(unique("user") + "@example.com");
+        user.setPassword("{noop}secret");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    /**
+     * Makes {@code user} the authenticated user of the current thread.
+     */
+    protected static void authenticate(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    protected Customer createCustomer(User createdBy, String gst) {
+        Customer customer = new Customer();
+        customer.setName(unique("Customer"));
+        customer.setPhone("98765 43210");
+        customer.setGst(gst);
+        customer.setCreatedBy(createdBy);
+        return customerRepository.save(customer);
+    }
+
+    /**
+     * Saves {@code count} items in a new category and publishes them to the catalog.
+     */
+    protected List<Item> createItems(User createdBy, int count) {
+        Category category = new Category();
+        category.setName(unique("Category"));
+        category.setCreatedBy(createdBy);
+        category = categoryRepository.save(category);
+        itemCatalog.putCategory(category);
+
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setPrice(BigDecimal.TEN);
+            item.setCategory(category);
+            item.setCreatedBy(createdBy);
+            item = itemRepository.save(item);
+            itemCatalog.put(item);
+            items.add(item);
+        }
+        return items;
+    }
+
+    protected static OrderRequest orderRequest(Customer customer, List<Item> items) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerId(customer.getId());
+        request.setGstEnabled(true);
+        List<OrderItemRequest> lines = new ArrayList<>(items.size());
+        for (Item item : items) {
+            OrderItemRequest line = new OrderItemRequest();
+            line.setItemId(item.getId());
+            line.setQuantity(2);
+            line.setPrice(new BigDecimal("10.50"));
+            lines.add(line);
+        }
+        request.setItems(lines);
+        return request;
+    }
+
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
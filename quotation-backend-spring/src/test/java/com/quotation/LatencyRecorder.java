@@ -0,0 +1,106 @@
+package com.quotation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs an operation repeatedly and reports its throughput and latency percentiles. Used by the
+ * {@code *Benchmark} classes, which only run with {@code mvn test -Pbenchmark}; sizes are read from system
+ * properties so they can be raised from the command line, e.g. {@code -Dbench.receipt.lines=5000}.
+ */
+public final class LatencyRecorder {
+
+    @FunctionalInterface
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    public record Result(String name, int samples, double opsPerSecond, double meanMicros,
+                         double p50Micros, double p99Micros) {
+
+        @Override
+        public String toString() {
+            return String.format("%-48s %8d ops %12.1f ops/s  mean %10.1f us  p50 %10.1f us  p99 %10.1f us",
+                    name, samples, opsPerSecond, meanMicros, p50Micros, p99Micros);
+        }
+    }
+
+    private LatencyRecorder() {
+    }
+
+    public static int size(String property, int defaultValue) {
+        return Integer.getInteger(property, defaultValue);
+    }
+
+    /**
+     * Runs {@code operation} {@code warmup} times unmeasured, then {@code iterations} times on the calling
+     * thread, and prints the result.
+     */
+    public static Result measure(String name, int warmup, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long[] samples = new long[iterations];
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - begin;
+        }
+        return report(name, samples, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs {@code operation} {@code iterations} times in total spread over {@code executor}'s threads
+     * ({@code tasks} at once), and prints the result.
+     */
+    public static Result measureConcurrent(String name, ExecutorService executor, int tasks, int iterations,
+                                           Operation operation) throws Exception {
+        int perTask = iterations / tasks;
+        List<Callable<long[]>> work = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            work.add(() -> {
+                long[] samples = new long[perTask];
+                for (int i = 0; i < perTask; i++) {
+                    long begin = System.nanoTime();
+                    operation.run();
+                    samples[i] = System.nanoTime() - begin;
+                }
+                return samples;
+            });
+        }
+        long start = System.nanoTime();
+        List<Future<long[]>> futures = executor.invokeAll(work);
+        long elapsed = System.nanoTime() - start;
+        long[] all = new long[perTask * tasks];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] samples = future.get();
+            System.arraycopy(samples, 0, all, offset, samples.length);
+            offset += samples.length;
+        }
+        return report(name, all, elapsed);
+    }
+
+    private static Result report(String name, long[] samples, long elapsedNanos) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1000.0;
+        Result result = new Result(name, sorted.length, sorted.length * 1e9 / elapsedNanos, mean,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+        System.out.println(result);
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+}
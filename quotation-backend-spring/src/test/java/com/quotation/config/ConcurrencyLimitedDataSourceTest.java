@@ -0,0 +1,87 @@
+package com.quotation.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private static DataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:concurrency_limit;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    @Test
+    void returnsPermitWhenConnectionIsClosed() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(h2(), 2, Duration.ofSeconds(1));
+
+        Connection first = dataSource.getConnection();
+        try (Connection second = dataSource.getConnection(); Statement statement = second.createStatement()) {
+            assertThat(statement.execute("SELECT 1")).isTrue();
+            assertThat(dataSource.getAvailablePermits()).isZero();
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void timesOutWithTransientExceptionWhenAllPermitsAreTaken() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(h2(), 1, Duration.ofMillis(50));
+
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingCallerGetsConnectionOnceOneIsClosed() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(h2(), 1, Duration.ofSeconds(5));
+
+        Connection held = dataSource.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        held.close();
+        try (Connection connection = waiting.get(5, TimeUnit.SECONDS)) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesPermitWhenTargetFailsToConnect() throws Exception {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(failing, 1, Duration.ofMillis(50));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(dataSource::getConnection).hasMessage("Connection refused");
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.quotation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quotation.IntegrationTest;
+import com.quotation.LatencyRecorder;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import com.quotation.security.AuthenticatedUser;
+import com.quotation.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test of the order listing and creation endpoints over real HTTP, with {@code bench.load.clients}
+ * concurrent clients. Run it once per threading mode and compare:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=OrderLoadBenchmark
+ * mvn test -Pbenchmark -Dtest=OrderLoadBenchmark -Dspring.threads.virtual.enabled=true
+ * </pre>
+ * Virtual threads need Java 21; on older runtimes Spring Boot quietly stays on platform threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderLoadBenchmark extends IntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ordersUnderLoad() throws Exception {
+        int clients = LatencyRecorder.size("bench.load.clients", 64);
+        int requests = LatencyRecorder.size("bench.load.requests", 2_000);
+        String mode = (Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform") + " threads, "
+                + clients + " clients";
+
+        User user = createUser(User.Role.USER);
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        String bearer = "Bearer " + tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        Customer customer = createCustomer(user, "27AABCU9603R1ZM");
+        List<Item> items = createItems(user, 5);
+        String order = objectMapper.writeValueAsString(orderRequest(customer, items));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                .header("Authorization", bearer)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(order))
+                .build();
+        HttpRequest list = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/page?size=20"))
+                .header("Authorization", bearer)
+                .GET()
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            // Warm up both endpoints before measuring
+            send(client, create, 201);
+            LatencyRecorder.measureConcurrent("warm-up", executor, clients, requests / 5,
+                    () -> send(client, list, 200));
+            LatencyRecorder.measureConcurrent("create order (" + mode + ")", executor, clients, requests,
+                    () -> send(client, create, 201));
+            LatencyRecorder.measureConcurrent("list orders (" + mode + ")", executor, clients, requests,
+                    () -> send(client, list, 200));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request, int expectedStatus) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.quotation.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs over real HTTP because the forwarded address is applied by Tomcat, which MockMvc bypasses. The
+ * test client connects from loopback, a trusted proxy address, just like a reverse proxy on the same
+ * host. Uses its own database so its context does not share the one of the other tests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:forwarded",
+        "security.login.per-address.capacity=2",
+        "security.login.per-address.refill-per-minute=1"
+})
+class ForwardedClientAddressTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void loginLimitIsPerForwardedClientAddress() throws Exception {
+        assertThat(login("203.0.113.7")).isEqualTo(401);
+        assertThat(login("203.0.113.7")).isEqualTo(401);
+        HttpResponse<String> limited = send("203.0.113.7");
+        assertThat(limited.statusCode()).isEqualTo(429);
+        assertThat(limited.headers().firstValue("Retry-After")).isPresent();
+
+        // Another client behind the same proxy still has its own attempts
+        assertThat(login("198.51.100.23")).isEqualTo(401);
+        // A client cannot escape its bucket by sending its own X-Forwarded-For: the proxy appends the real
+        // address, and the rightmost untrusted entry is the one that counts
+        assertThat(login("198.51.100.99, 203.0.113.7")).isEqualTo(429);
+    }
+
+    private int login(String forwardedFor) throws Exception {
+        return send(forwardedFor).statusCode();
+    }
+
+    private HttpResponse<String> send(String forwardedFor) throws Exception {
+        String body = "{\"email\":\"" + UUID.randomUUID() + "@example.com\",\"password\":\"wrong-password\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,92 @@
+package com.quotation.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextIndexTest {
+
+    private static final String[] WORDS = {"steel", "rod", "copper", "wire", "pipe", "bolt", "nut", "ss", "gi",
+            "ms", "angle", "st", "steelwire", "banana"};
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenInfix() {
+        TextIndex index = new TextIndex();
+        index.put(1, "Steel Rod");
+        index.put(2, "steel rod 12mm");
+        index.put(3, "ms steel rod");
+        index.put(4, "stainless steelrod");
+        index.put(5, "copper wire");
+
+        assertThat(index.search("steel rod", null, 10)).extracting(TextIndex.Hit::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.search("eel", null, 10)).extracting(TextIndex.Hit::id).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(index.search("st", null, 10)).extracting(TextIndex.Hit::id).containsExactly(1L, 2L, 4L, 3L);
+        assertThat(index.search("ee", null, 10)).isEmpty();
+    }
+
+    @Test
+    void appliesFilterAndLimit() {
+        TextIndex index = new TextIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.put(id, "pipe " + id);
+        }
+        assertThat(index.search("pipe", id -> id % 2 == 0, 3)).extracting(TextIndex.Hit::id)
+                .containsExactly(2L, 4L, 6L);
+    }
+
+    @Test
+    void matchesBruteForceAfterUpdates() {
+        Random random = new Random(7);
+        Map<Long, String> documents = new HashMap<>();
+        for (long id = 0; id < 3000; id++) {
+            documents.put(id, word(random) + " " + (random.nextBoolean() ? word(random) + " " : "")
+                    + random.nextInt(60) + "mm");
+        }
+        TextIndex index = new TextIndex();
+        index.reset(documents);
+        // Enough changes to leave tombstones and a tail, and to go through a compaction
+        for (int i = 0; i < 2000; i++) {
+            long id = random.nextInt(4000);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                documents.remove(id);
+            } else {
+                String text = word(random) + " " + word(random) + " " + random.nextInt(60);
+                index.put(id, text);
+                documents.put(id, text);
+            }
+        }
+
+        for (String query : new String[]{"s", "st", "steel", "steel r", "rod 1", "eel", "ban", "gi 5", "ms steel",
+                "nut 1mm", "ire 2"}) {
+            List<long[]> expected = new ArrayList<>();
+            documents.forEach((id, text) -> {
+                TextIndex single = new TextIndex();
+                single.put(id, text);
+                List<TextIndex.Hit> hit = single.search(query, null, 1);
+                if (!hit.isEmpty()) {
+                    expected.add(new long[]{id, hit.get(0).score(), TextIndex.normalize(text).length()});
+                }
+            });
+            expected.sort(Comparator.comparingLong((long[] hit) -> -hit[1])
+                    .thenComparingLong(hit -> hit[2])
+                    .thenComparingLong(hit -> hit[0]));
+            for (int limit : new int[]{1, 5, 20, 1000}) {
+                assertThat(index.search(query, null, limit)).as("%s, limit %d", query, limit)
+                        .extracting(TextIndex.Hit::id)
+                        .containsExactlyElementsOf(expected.stream().limit(limit).map(hit -> hit[0]).toList());
+            }
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
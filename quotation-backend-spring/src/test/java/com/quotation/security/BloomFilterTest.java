@@ -0,0 +1,41 @@
+package com.quotation.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegativesAndAboutTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.add(jti);
+            added.add(jti);
+        }
+        assertThat(added).allMatch(filter::mightContain);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void toleratesTinySizes() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        filter.add("a");
+        filter.add("");
+        assertThat(filter.mightContain("a")).isTrue();
+        assertThat(filter.mightContain("")).isTrue();
+    }
+}
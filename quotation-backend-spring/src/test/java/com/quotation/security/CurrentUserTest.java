@@ -0,0 +1,53 @@
+package com.quotation.security;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.CategoryRequest;
+import com.quotation.dto.CustomerRequest;
+import com.quotation.entity.User;
+import com.quotation.service.CategoryService;
+import com.quotation.service.CustomerService;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creating a row records its creator through {@link CurrentUser#getReference()}, which must not read the
+ * user: the insert is the only statement.
+ */
+class CurrentUserTest extends IntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void createSetsCreatedByWithoutLoadingTheUser() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        Statistics statistics = statistics();
+
+        CustomerRequest customer = new CustomerRequest();
+        customer.setName(unique("Customer"));
+        customer.setPhone("98765 43210");
+        statistics.clear();
+        Long customerId = customerService.createCustomer(customer).getId();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+
+        CategoryRequest category = new CategoryRequest();
+        category.setName(unique("Category"));
+        statistics.clear();
+        Long categoryId = categoryService.createCategory(category).getId();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+
+        assertThat(customerRepository.findById(customerId).orElseThrow().getCreatedBy().getId())
+                .isEqualTo(user.getId());
+        assertThat(categoryRepository.findById(categoryId).orElseThrow().getCreatedBy().getId())
+                .isEqualTo(user.getId());
+    }
+}
@@ -0,0 +1,70 @@
+package com.quotation.security;
+
+import com.quotation.IntegrationTest;
+import com.quotation.LatencyRecorder;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Per-request cost of the JWT filter, before and after principal caching. {@code /health} does no work of
+ * its own, so the difference to an anonymous request is the filter. The "before" rows reproduce the old
+ * path: a user lookup on every request (the principal cache is cleared each time) and a token parsed twice.
+ */
+class JwtAuthenticationFilterBenchmark extends IntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Test
+    void filterCost() throws Exception {
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        User user = createUser(User.Role.USER);
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        String bearer = "Bearer " + token;
+        int iterations = LatencyRecorder.size("bench.iterations", 5_000);
+
+        LatencyRecorder.measure("anonymous request", iterations, iterations,
+                () -> mvc.perform(get("/health")));
+        measureStatements("token, user lookup per request (before)", iterations, () -> {
+            principalCache.clear();
+            mvc.perform(get("/health").header("Authorization", bearer));
+        });
+        measureStatements("token, cached principal (after)", iterations,
+                () -> mvc.perform(get("/health").header("Authorization", bearer)));
+
+        LatencyRecorder.measure("parse token twice (before)", iterations, iterations, () -> {
+            if (tokenProvider.validateToken(token)) {
+                tokenProvider.getEmailFromToken(token);
+            }
+        });
+        LatencyRecorder.measure("parse token once (after)", iterations, iterations,
+                () -> tokenProvider.getClaimsIfValid(token).getSubject());
+    }
+
+    private void measureStatements(String name, int iterations, LatencyRecorder.Operation operation)
+            throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        statistics().clear();
+        LatencyRecorder.measure(name, 0, iterations, operation);
+        System.out.printf("%-48s %8.2f statements per request%n", name,
+                statistics().getPrepareStatementCount() / (double) iterations);
+    }
+}
@@ -0,0 +1,58 @@
+package com.quotation.security;
+
+import com.quotation.IntegrationTest;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A token names its user by email and by id; the filter only accepts it while both still match the same row.
+ */
+class JwtAuthenticationFilterTest extends IntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void tokenOfAnEarlierAccountWithTheSameEmailIsRejected() throws Exception {
+        User earlier = createUser(User.Role.USER);
+        String email = earlier.getEmail();
+        String bearer = "Bearer " + token(earlier);
+        mvc.perform(get("/api/orders").header("Authorization", bearer)).andExpect(status().isOk());
+
+        earlier.setEmail(unique("renamed") + "@example.com");
+        userRepository.save(earlier);
+        User current = createUser(User.Role.USER);
+        current.setEmail(email);
+        userRepository.save(current);
+
+        mvc.perform(get("/api/orders").header("Authorization", bearer)).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/orders").header("Authorization", "Bearer " + token(current)))
+                .andExpect(status().isOk());
+    }
+
+    private String token(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.quotation.security;
+
+import com.quotation.LatencyRecorder;
+import com.quotation.entity.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Token generate and validate throughput, with a plain secret and with rotated {@code kid} keys, next to
+ * the old code path that derived the key and built a parser on every call.
+ */
+class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_with_at_least_256_bits_of_material";
+
+    @Test
+    void generateAndValidate() throws Exception {
+        int iterations = LatencyRecorder.size("bench.iterations", 50_000);
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "bench@example.com", "", User.Role.USER);
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        JwtProperties plain = properties();
+        JwtProperties rotated = properties();
+        rotated.getKeys().put("2025-01", SECRET + "-2025-01");
+        rotated.getKeys().put("2025-07", SECRET + "-2025-07");
+        rotated.setSigningKeyId("2025-07");
+
+        for (JwtProperties properties : new JwtProperties[]{plain, rotated}) {
+            String label = properties.getSigningKeyId() == null ? "secret" : "kid";
+            JwtTokenProvider provider = provider(properties);
+            String token = provider.generateToken(authentication);
+
+            LatencyRecorder.measure("generate (" + label + ")", iterations, iterations,
+                    () -> provider.generateToken(authentication));
+            LatencyRecorder.measure("validate (" + label + ")", iterations, iterations,
+                    () -> provider.getClaimsIfValid(token));
+            int threads = Runtime.getRuntime().availableProcessors() * 2;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                LatencyRecorder.measureConcurrent("validate (" + label + "), " + threads + " threads", executor,
+                        threads, iterations, () -> provider.getClaimsIfValid(token));
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        // What validateToken did before: derive the key and build a parser for every call
+        String token = provider(plain).generateToken(authentication);
+        LatencyRecorder.measure("validate, key and parser per call (before)", iterations, iterations,
+                () -> Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                        .parseSignedClaims(token));
+    }
+
+    private static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(900_000);
+        return properties;
+    }
+
+    private static JwtTokenProvider provider(JwtProperties properties) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "properties", properties);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,75 @@
+package com.quotation.security;
+
+import com.quotation.entity.User;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test_secret_key_with_at_least_256_bits_of_key_material";
+    private static final String OLD_KEY = SECRET + "-old";
+    private static final String NEW_KEY = SECRET + "-new";
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(60_000);
+        properties.getKeys().put("old", OLD_KEY);
+        properties.getKeys().put("new", NEW_KEY);
+        properties.setSigningKeyId("new");
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "properties", properties);
+        provider.init();
+    }
+
+    @Test
+    void signsWithCurrentKeyAndKid() {
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "jwt@example.com", "", User.Role.ADMIN);
+        String token = provider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+        assertThat(header).contains("\"kid\":\"new\"");
+        assertThat(provider.getClaimsIfValid(token).getSubject()).isEqualTo("jwt@example.com");
+        assertThat(provider.getClaimsIfValid(token).get(JwtTokenProvider.USER_ID_CLAIM, Long.class)).isEqualTo(7L);
+    }
+
+    @Test
+    void acceptsTokensOfEveryConfiguredKey() {
+        assertThat(provider.getClaimsIfValid(token("old", OLD_KEY))).isNotNull();
+        assertThat(provider.getClaimsIfValid(token(null, SECRET))).isNotNull();
+    }
+
+    @Test
+    void rejectsUnknownKidAndWrongKey() {
+        assertThat(provider.getClaimsIfValid(token("retired", OLD_KEY))).isNull();
+        assertThat(provider.getClaimsIfValid(token("new", OLD_KEY))).isNull();
+        assertThat(provider.getClaimsIfValid(token(null, NEW_KEY))).isNull();
+        assertThat(provider.getClaimsIfValid("not.a.token")).isNull();
+    }
+
+    private static String token(String keyId, String secret) {
+        JwtBuilder builder = Jwts.builder();
+        if (keyId != null) {
+            builder.header().keyId(keyId).and();
+        }
+        return builder.subject("someone@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,110 @@
+package com.quotation.security;
+
+import com.quotation.exception.ServiceBusyException;
+import com.quotation.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private static final String EMAIL = "owner@example.com";
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = throttle(1, 100, 3);
+    }
+
+    @Test
+    void limitsEveryAttemptPerAddress() {
+        LoginThrottle throttle = throttle(1, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.run("user" + i + "@example.com", "203.0.113.7", () -> "ok")).isEqualTo("ok");
+        }
+        // Registration (no account) counts as well, and nothing is hashed once the bucket is empty
+        assertThatThrownBy(() -> throttle.run(null, "203.0.113.7", () -> {
+            throw new AssertionError("must not run");
+        }))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isBetween(1L, 60L));
+        assertThat(throttle.run(null, "198.51.100.23", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void successfulLoginsDoNotDrawFromTheAccountBucket() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.run(EMAIL, "203.0.113.7", () -> "signed in")).isEqualTo("signed in");
+        }
+    }
+
+    @Test
+    void turnsAwayAttemptsThatWaitTooLongForAPermit() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> throttle.run(EMAIL, "203.0.113.7", () -> {
+            hashing.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> throttle.run(EMAIL, "198.51.100.23", () -> "fast"))
+                .isInstanceOf(ServiceBusyException.class)
+                .satisfies(e -> assertThat(((ServiceBusyException) e).getRetryAfterSeconds()).isEqualTo(1));
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        // The permit is returned, also after a failure
+        assertThatThrownBy(() -> failedLogin(EMAIL, "198.51.100.23")).isInstanceOf(BadCredentialsException.class);
+        assertThat(throttle.run(EMAIL, "198.51.100.23", () -> "fast")).isEqualTo("fast");
+    }
+
+    @Test
+    void failuresFromOneAddressDoNotLockTheAccountElsewhere() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> failedLogin(EMAIL, "203.0.113.7")).isInstanceOf(BadCredentialsException.class);
+        }
+        assertThatThrownBy(() -> failedLogin("OWNER@example.com", "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("account");
+
+        assertThat(throttle.run(EMAIL, "198.51.100.23", () -> "signed in")).isEqualTo("signed in");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object failedLogin(String email, String address) {
+        return throttle.run(email, address, () -> {
+            throw new BadCredentialsException("Bad credentials");
+        });
+    }
+
+    private static LoginThrottle throttle(int maxConcurrent, int addressCapacity, int accountCapacity) {
+        LoginThrottle throttle = new LoginThrottle();
+        ReflectionTestUtils.setField(throttle, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(throttle, "queueTimeout", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(throttle, "addressCapacity", addressCapacity);
+        ReflectionTestUtils.setField(throttle, "addressRefillPerMinute", 1);
+        ReflectionTestUtils.setField(throttle, "accountCapacity", accountCapacity);
+        ReflectionTestUtils.setField(throttle, "accountRefillPerMinute", 1);
+        throttle.init();
+        return throttle;
+    }
+}
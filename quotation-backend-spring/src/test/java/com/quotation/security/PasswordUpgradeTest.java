@@ -0,0 +1,71 @@
+package com.quotation.security;
+
+import com.quotation.entity.User;
+import com.quotation.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The authentication provider as {@link SecurityConfig} builds it, with the configured cost at 6.
+ */
+class PasswordUpgradeTest {
+
+    private static final String EMAIL = "owner@example.com";
+    private static final String PASSWORD = "secret1";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void rehashesPasswordsStoredWithALowerCost() {
+        storedHash(new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        provider().authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+
+        verify(userRepository).updatePassword(eq(EMAIL), argThat(hash ->
+                hash.startsWith("$2a$06$") && new BCryptPasswordEncoder().matches(PASSWORD, hash)));
+    }
+
+    @Test
+    void keepsHashesAtTheConfiguredCost() {
+        storedHash(new BCryptPasswordEncoder(6).encode(PASSWORD));
+
+        assertThat(provider().authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD))
+                .isAuthenticated()).isTrue();
+
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+
+    private void storedHash(String hash) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setPassword(hash);
+        user.setRole(User.Role.USER);
+        user.setIsActive(true);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    private DaoAuthenticationProvider provider() {
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsService, "principalCache", new PrincipalCache());
+        SecurityConfig config = new SecurityConfig();
+        ReflectionTestUtils.setField(config, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(config, "bcryptStrength", 6);
+        return config.authenticationProvider();
+    }
+}
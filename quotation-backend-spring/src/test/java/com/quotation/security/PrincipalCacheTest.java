@@ -0,0 +1,106 @@
+package com.quotation.security;
+
+import com.quotation.IntegrationTest;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PrincipalCacheTest extends IntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void roleChangeAndDeactivationApplyOnTheNextRequest() throws Exception {
+        User user = createUser(User.Role.USER);
+        String bearer = "Bearer " + token(user);
+        mvc.perform(get("/api/auth/profile").header("Authorization", bearer))
+                .andExpect(jsonPath("$.role").value("USER"));
+        assertThat(principalCache.get(user.getEmail())).isNotNull();
+
+        user.setRole(User.Role.ADMIN);
+        user = userRepository.save(user);
+        mvc.perform(get("/api/auth/profile").header("Authorization", bearer))
+                .andExpect(jsonPath("$.role").value("ADMIN"));
+
+        user.setIsActive(false);
+        userRepository.save(user);
+        mvc.perform(get("/api/orders").header("Authorization", bearer)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void requestReadingTheOldRowBeforeCommitDoesNotKeepIt() {
+        User user = createUser(User.Role.ADMIN);
+        String email = user.getEmail();
+        userDetailsService.loadAuthenticatedUser(email);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User demoted = userRepository.findById(user.getId()).orElseThrow();
+            demoted.setRole(User.Role.USER);
+            // Flushing runs @PostUpdate; a concurrent request then reads the still committed ADMIN row
+            userRepository.saveAndFlush(demoted);
+            AuthenticatedUser concurrent = CompletableFuture
+                    .supplyAsync(() -> userDetailsService.loadAuthenticatedUser(email))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            assertThat(concurrent.getRole()).isEqualTo(User.Role.ADMIN);
+        });
+
+        assertThat(userDetailsService.loadAuthenticatedUser(email).getRole()).isEqualTo(User.Role.USER);
+    }
+
+    @Test
+    void putIsDroppedWhenAUserWasEvictedSinceTheRead() {
+        User user = createUser(User.Role.USER);
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+
+        long generation = principalCache.generation();
+        principalCache.evictUser(user.getId());
+        principalCache.put(user.getEmail(), principal, generation);
+        assertThat(principalCache.get(user.getEmail())).isNull();
+
+        principalCache.put(user.getEmail(), principal, principalCache.generation());
+        assertThat(principalCache.get(user.getEmail())).isSameAs(principal);
+    }
+
+    private String token(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), "", user.getRole());
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.quotation.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void startsFullAndRunsDry() {
+        TokenBucket bucket = new TokenBucket(3, 6);
+        assertThat(bucket.isFull()).isTrue();
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.hasToken()).isTrue();
+            assertThat(bucket.tryConsume()).isTrue();
+        }
+        assertThat(bucket.hasToken()).isFalse();
+        assertThat(bucket.tryConsume()).isFalse();
+        // Six tokens a minute: the next one is ten seconds away
+        assertThat(bucket.secondsUntilToken()).isBetween(9L, 10L);
+    }
+
+    @Test
+    void refillsWithElapsedTimeUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 6);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume();
+        }
+
+        elapse(bucket, 25);
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isFalse();
+        // Half a token is left over from the 25 seconds
+        assertThat(bucket.secondsUntilToken()).isBetween(4L, 5L);
+
+        elapse(bucket, 3600);
+        assertThat(bucket.isFull()).isTrue();
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume()).isTrue();
+        }
+        assertThat(bucket.tryConsume()).isFalse();
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() {
+        TokenBucket bucket = new TokenBucket(1, 6000);
+        assertThat(bucket.secondsUntilToken()).isEqualTo(1);
+        bucket.tryConsume();
+        assertThat(bucket.secondsUntilToken()).isEqualTo(1);
+    }
+
+    private static void elapse(TokenBucket bucket, long seconds) {
+        long refilledAt = (long) ReflectionTestUtils.getField(bucket, "refilledAt");
+        ReflectionTestUtils.setField(bucket, "refilledAt", refilledAt - seconds * 1_000_000_000L);
+    }
+}
@@ -0,0 +1,57 @@
+package com.quotation.security;
+
+import com.quotation.IntegrationTest;
+import com.quotation.entity.RevokedToken;
+import com.quotation.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest extends IntegrationTest {
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void syncPicksUpRevocationsFromOtherInstances() {
+        String jti = UUID.randomUUID().toString();
+        // Written by another instance: only the table knows about it
+        RevokedToken row = new RevokedToken();
+        row.setJti(jti);
+        row.setExpiresAt(LocalDateTime.now().plusHours(1));
+        revokedTokenRepository.save(row);
+        assertThat(tokenDenylist.isRevoked(jti)).isFalse();
+
+        tokenDenylist.sync();
+
+        assertThat(tokenDenylist.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void syncForgetsExpiredTokensAndRebuildsTheFilter() throws InterruptedException {
+        String expiring = UUID.randomUUID().toString();
+        String live = UUID.randomUUID().toString();
+        tokenDenylist.revoke(expiring, LocalDateTime.now().plusNanos(300_000_000));
+        tokenDenylist.revoke(live, LocalDateTime.now().plusHours(1));
+        assertThat(tokenDenylist.isRevoked(expiring)).isTrue();
+        Object filter = ReflectionTestUtils.getField(tokenDenylist, "filter");
+
+        Thread.sleep(400);
+        tokenDenylist.sync();
+
+        assertThat(ReflectionTestUtils.getField(tokenDenylist, "filter")).isNotSameAs(filter);
+        assertThat(tokenDenylist.isRevoked(expiring)).isFalse();
+        assertThat(tokenDenylist.isRevoked(live)).isTrue();
+        assertThat(revokedTokenRepository.findAll()).extracting(RevokedToken::getJti)
+                .doesNotContain(expiring)
+                .contains(live);
+    }
+}
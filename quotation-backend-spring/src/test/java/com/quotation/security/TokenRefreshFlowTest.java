@@ -0,0 +1,110 @@
+package com.quotation.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quotation.IntegrationTest;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * What the frontend relies on: an unusable access token is a 401, a refresh after it yields a token the
+ * same request succeeds with, and logout leaves neither token usable.
+ */
+class TokenRefreshFlowTest extends IntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void missingOrInvalidTokenIsUnauthorized() throws Exception {
+        mvc.perform(get("/api/orders")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/orders").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredTokenIsUnauthorizedAndRefreshedTokenWorks() throws Exception {
+        String email = unique("refresh") + "@example.com";
+        JsonNode session = postJson("/api/auth/register",
+                "{\"name\":\"Refresh\",\"email\":\"" + email + "\",\"password\":\"secret1\"}");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+
+        mvc.perform(get("/api/orders").header("Authorization", "Bearer " + expiredToken(email, userId)))
+                .andExpect(status().isUnauthorized());
+
+        JsonNode refreshed = postJson("/api/auth/refresh",
+                "{\"refreshToken\":\"" + session.get("refreshToken").asText() + "\"}");
+        mvc.perform(get("/api/orders").header("Authorization", "Bearer " + refreshed.get("token").asText()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logoutRevokesAccessAndRefreshToken() throws Exception {
+        String email = unique("logout") + "@example.com";
+        JsonNode session = postJson("/api/auth/register",
+                "{\"name\":\"Logout\",\"email\":\"" + email + "\",\"password\":\"secret1\"}");
+        String bearer = "Bearer " + session.get("token").asText();
+        String refreshBody = "{\"refreshToken\":\"" + session.get("refreshToken").asText() + "\"}";
+        mvc.perform(get("/api/orders").header("Authorization", bearer)).andExpect(status().isOk());
+
+        mvc.perform(post("/api/auth/logout").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody))
+                .andExpect(status().isNoContent());
+
+        // The access token is still within its lifetime; only its jti on the denylist stops it
+        mvc.perform(get("/api/orders").header("Authorization", bearer)).andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshBody))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String expiredToken(String email, Long userId) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .claim(JwtTokenProvider.USER_ID_CLAIM, userId)
+                .issuedAt(new Date(now - 120_000))
+                .expiration(new Date(now - 60_000))
+                .signWith(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
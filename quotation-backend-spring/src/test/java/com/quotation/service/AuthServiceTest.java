@@ -0,0 +1,89 @@
+package com.quotation.service;
+
+import com.quotation.dto.JwtResponse;
+import com.quotation.dto.RegisterRequest;
+import com.quotation.entity.User;
+import com.quotation.repository.UserRepository;
+import com.quotation.security.JwtProperties;
+import com.quotation.security.JwtTokenProvider;
+import com.quotation.security.LoginThrottle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final LoginThrottle loginThrottle = mock(LoginThrottle.class);
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrationHashesThePasswordOnceAndDoesNotVerifyIt() {
+        AuthService authService = authService();
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(7L);
+            return user;
+        });
+        when(passwordEncoder.encode("secret1")).thenReturn("$2a$04$hash");
+        when(loginThrottle.run(isNull(), eq("203.0.113.7"), any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(2)).get());
+
+        RegisterRequest request = new RegisterRequest();
+        request.setName("New");
+        request.setEmail("new@example.com");
+        request.setPassword("secret1");
+        JwtResponse response = authService.register(request, "203.0.113.7");
+
+        assertThat(response.getEmail()).isEqualTo("new@example.com");
+        // Hashing goes through the throttle, as a login does
+        verify(loginThrottle).run(isNull(), eq("203.0.113.7"), any());
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(passwordEncoder, never()).matches(any(), any());
+        verifyNoInteractions(authenticationManager);
+    }
+
+    private AuthService authService() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(60_000);
+        JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+        when(tokenProvider.generateToken(any())).thenReturn("access-token");
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        when(refreshTokenService.issue(7L)).thenReturn("refresh-token");
+
+        AuthService authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(authService, "authenticationManager", authenticationManager);
+        ReflectionTestUtils.setField(authService, "jwtTokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(authService, "loginThrottle", loginThrottle);
+        ReflectionTestUtils.setField(authService, "refreshTokenService", refreshTokenService);
+        ReflectionTestUtils.setField(authService, "jwtProperties", jwtProperties);
+        return authService;
+    }
+}
@@ -0,0 +1,74 @@
+package com.quotation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkedIdMapTest {
+
+    @Test
+    void matchesATreeMapUnderRandomUpdates() {
+        Random random = new Random(42);
+        TreeMap<Long, String> expected = new TreeMap<>();
+        ChunkedIdMap<String> map = ChunkedIdMap.empty();
+        long bound = ChunkedIdMap.CHUNK_SPAN * 8L;
+
+        for (int round = 0; round < 3000; round++) {
+            long id = random.nextLong(bound);
+            if (random.nextInt(4) == 0) {
+                expected.remove(id);
+                map = map.without(id);
+            } else if (random.nextInt(50) == 0) {
+                // Batch that adds, replaces and removes across several chunks
+                SortedMap<Long, String> changes = new TreeMap<>();
+                for (int i = 0; i < 200; i++) {
+                    long changed = random.nextLong(bound);
+                    changes.put(changed, random.nextBoolean() ? null : "batch-" + round + "-" + i);
+                }
+                changes.forEach((changed, value) -> {
+                    if (value == null) {
+                        expected.remove(changed);
+                    } else {
+                        expected.put(changed, value);
+                    }
+                });
+                map = map.apply(changes);
+            } else {
+                String value = "v" + round;
+                expected.put(id, value);
+                map = map.with(id, value);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.values()).containsExactlyElementsOf(expected.values());
+        assertThat(new ArrayList<>(map.asMap().keySet())).containsExactlyElementsOf(expected.keySet());
+        assertThat(map.asMap()).isEqualTo(expected);
+        for (long id = 0; id < bound; id++) {
+            assertThat(map.get(id)).isEqualTo(expected.get(id));
+        }
+        List<String> byIndex = new ArrayList<>();
+        for (int i = 0; i < map.values().size(); i++) {
+            byIndex.add(map.values().get(i));
+        }
+        assertThat(byIndex).containsExactlyElementsOf(expected.values());
+    }
+
+    @Test
+    void updatesLeaveThePreviousMapUnchanged() {
+        ChunkedIdMap<String> before = ChunkedIdMap.of(Map.of(1L, "a", 5000L, "b"));
+        ChunkedIdMap<String> after = before.with(1L, "changed").with(2L, "added").without(5000L);
+
+        assertThat(before.asMap()).isEqualTo(Map.of(1L, "a", 5000L, "b"));
+        assertThat(after.asMap()).isEqualTo(Map.of(1L, "changed", 2L, "added"));
+        assertThat(after.without(99L)).isSameAs(after);
+        assertThat(after.without(1L).without(2L).size()).isZero();
+    }
+}
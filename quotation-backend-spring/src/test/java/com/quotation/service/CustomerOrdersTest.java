@@ -0,0 +1,130 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.CustomerSummaryResponse;
+import com.quotation.dto.OrderPageResponse;
+import com.quotation.dto.OrderResponse;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.Order;
+import com.quotation.entity.User;
+import com.quotation.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A customer's order pages and the {@code customer_order_summary} row kept alongside the sales summary.
+ */
+class CustomerOrdersTest extends IntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SalesSummaryService salesSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Customer customer;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser(User.Role.USER);
+        authenticate(user);
+        customer = createCustomer(user, null);
+        items = createItems(user, 2);
+    }
+
+    @Test
+    void pagesWalkTheCustomersOrdersNewestFirst() {
+        Customer other = createCustomer(user, null);
+        orderService.createOrder(orderRequest(other, items));
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(orderService.createOrder(orderRequest(customer, items)).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        String cursor = null;
+        OrderPageResponse page;
+        do {
+            page = orderService.getCustomerOrders(customer.getId(), cursor, 2);
+            page.getOrders().forEach(order -> seen.add(order.getId()));
+            sizes.add(page.getOrders().size());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(sizes).containsExactly(2, 2, 1);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(seen).isEqualTo(created.stream().sorted(Comparator.reverseOrder()).toList());
+        assertThatThrownBy(() -> orderService.getCustomerOrders(Long.MAX_VALUE, null, 2))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void summaryFollowsStatusChanges() {
+        BigDecimal first = orderService.createOrder(orderRequest(customer, items)).getTotal();
+        OrderResponse second = orderService.createOrder(orderRequest(customer, items));
+        assertSummary(2, first.add(second.getTotal()), first.add(second.getTotal()), LocalDate.now());
+
+        // Completed is still billed but no longer outstanding; cancelled is neither but still an order
+        orderService.updateOrderStatus(second.getId(), Order.OrderStatus.COMPLETED);
+        assertSummary(2, first.add(second.getTotal()), first, LocalDate.now());
+        orderService.updateOrderStatus(second.getId(), Order.OrderStatus.CANCELLED);
+        assertSummary(2, first, first, LocalDate.now());
+        orderService.updateOrderStatus(second.getId(), Order.OrderStatus.CONFIRMED);
+        assertSummary(2, first.add(second.getTotal()), first.add(second.getTotal()), LocalDate.now());
+    }
+
+    @Test
+    void deletingTheLatestOrderMovesTheLastOrderDateBack() {
+        OrderResponse older = orderService.createOrder(orderRequest(customer, items));
+        // Orders are always billed today, so backdate this one and rebuild the summaries from the orders table
+        LocalDate tenDaysAgo = LocalDate.now().minusDays(10);
+        jdbcTemplate.update("UPDATE orders SET billing_date = ? WHERE id = ?", tenDaysAgo, older.getId());
+        salesSummaryService.rebuild();
+        assertSummary(1, older.getTotal(), older.getTotal(), tenDaysAgo);
+
+        OrderResponse latest = orderService.createOrder(orderRequest(customer, items));
+        assertSummary(2, older.getTotal().add(latest.getTotal()), older.getTotal().add(latest.getTotal()),
+                LocalDate.now());
+
+        orderService.deleteOrder(latest.getId());
+        assertSummary(1, older.getTotal(), older.getTotal(), tenDaysAgo);
+
+        orderService.updateOrderStatus(older.getId(), Order.OrderStatus.CANCELLED);
+        assertSummary(1, BigDecimal.ZERO, BigDecimal.ZERO, tenDaysAgo);
+
+        orderService.deleteOrder(older.getId());
+        CustomerSummaryResponse summary = customerService.getCustomerSummary(customer.getId());
+        assertThat(summary.getOrderCount()).isZero();
+        assertThat(summary.getLastOrderDate()).isNull();
+    }
+
+    private void assertSummary(long orderCount, BigDecimal totalBilled, BigDecimal outstandingValue,
+                               LocalDate lastOrderDate) {
+        CustomerSummaryResponse summary = customerService.getCustomerSummary(customer.getId());
+        assertThat(summary.getOrderCount()).isEqualTo(orderCount);
+        assertThat(summary.getTotalBilled()).isEqualByComparingTo(totalBilled);
+        assertThat(summary.getOutstandingValue()).isEqualByComparingTo(outstandingValue);
+        assertThat(summary.getLastOrderDate()).isEqualTo(lastOrderDate);
+    }
+}
@@ -0,0 +1,65 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.CustomerRequest;
+import com.quotation.dto.CustomerResponse;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerSearchTest extends IntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    // Letters only, so the marker is always searched as a name word
+    private final String marker = UUID.randomUUID().toString().replaceAll("[^a-f]", "") + "zq";
+
+    @BeforeEach
+    void authenticateUser() {
+        authenticate(createUser(User.Role.USER));
+    }
+
+    @Test
+    void mixedQueryMatchesNameAndPhone() {
+        Long ravi = create("Ravi " + marker, "+91 98765 43210");
+        create("Ravi " + marker + " Kumar", "99999 11111");
+        Long sunil = create("Sunil " + marker, "98765-43210");
+
+        assertThat(ids("ravi " + marker + " 98765")).containsExactly(ravi);
+        assertThat(ids(marker + " 43210")).containsExactlyInAnyOrder(ravi, sunil);
+        assertThat(ids(marker + " 99")).hasSize(1);
+        assertThat(ids("sunil " + marker + " 11111")).isEmpty();
+    }
+
+    @Test
+    void rejectsPagesBeyondMaxOffset() {
+        create("Deep " + marker, "12345 67890");
+
+        assertThat(customerService.searchCustomers(marker, 10, 100).getCustomers()).isEmpty();
+        assertThatThrownBy(() -> customerService.searchCustomers(marker, 11, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> customerService.searchCustomers(marker, Integer.MAX_VALUE, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long create(String name, String phone) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(name);
+        request.setPhone(phone);
+        return customerService.createCustomer(request).getId();
+    }
+
+    private List<Long> ids(String query) {
+        return customerService.searchCustomers(query, 0, 20).getCustomers().stream()
+                .map(CustomerResponse::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.DocumentJobRequest;
+import com.quotation.dto.DocumentJobResponse;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import com.quotation.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentJobServiceTest extends IntegrationTest {
+
+    @Autowired
+    private DocumentJobService documentJobService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void jobsAreOnlyVisibleToTheirOwner() throws Exception {
+        User owner = createUser(User.Role.USER);
+        String jobId = completedJob(owner, 1);
+
+        authenticate(createUser(User.Role.USER));
+        assertThatThrownBy(() -> documentJobService.getJob(jobId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> documentJobService.openArchive(jobId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> documentJobService.cancel(jobId)).isInstanceOf(ResourceNotFoundException.class);
+
+        authenticate(owner);
+        assertThat(documentJobService.getJob(jobId).getStatus()).isEqualTo(DocumentJobService.JobStatus.COMPLETED);
+    }
+
+    @Test
+    void cancellingDuringADownloadDeletesTheArchiveAfterIt() throws Exception {
+        User owner = createUser(User.Role.USER);
+        String jobId = completedJob(owner, 3);
+        Path archive = archiveOf(jobId);
+
+        DocumentJobService.Archive download = documentJobService.openArchive(jobId).orElseThrow();
+        documentJobService.cancel(jobId);
+        assertThat(archive).exists();
+
+        int entries = 0;
+        try (ZipInputStream zip = new ZipInputStream(download.content())) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries++;
+            }
+        }
+        assertThat(entries).isEqualTo(3);
+        assertThat(archive).doesNotExist();
+        assertThatThrownBy(() -> documentJobService.getJob(jobId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private String completedJob(User owner, int orders) throws InterruptedException {
+        authenticate(owner);
+        Customer customer = createCustomer(owner, null);
+        List<Item> items = createItems(owner, 1);
+        DocumentJobRequest request = new DocumentJobRequest();
+        request.setOrderIds(new ArrayList<>());
+        for (int i = 0; i < orders; i++) {
+            request.getOrderIds().add(orderService.createOrder(orderRequest(customer, items)).getId());
+        }
+        String jobId = documentJobService.submit(request).getId();
+        for (int attempt = 0; attempt < 200; attempt++) {
+            DocumentJobResponse job = documentJobService.getJob(jobId);
+            if (job.getStatus() == DocumentJobService.JobStatus.COMPLETED) {
+                return jobId;
+            }
+            assertThat(job.getStatus()).isNotEqualTo(DocumentJobService.JobStatus.FAILED);
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job did not complete");
+    }
+
+    private Path archiveOf(String jobId) throws Exception {
+        try (InputStream ignored = documentJobService.openArchive(jobId).orElseThrow().content();
+             Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir"), "quotation-documents"))) {
+            return files.filter(file -> file.getFileName().toString().equals(jobId + ".zip")).findFirst().orElseThrow();
+        }
+    }
+}
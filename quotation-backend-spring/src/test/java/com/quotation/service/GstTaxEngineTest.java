@@ -0,0 +1,112 @@
+package com.quotation.service;
+
+import com.quotation.entity.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GstTaxEngineTest {
+
+    @Test
+    void rateFallsBackFromItemToCategoryToDefault() {
+        GstTaxEngine engine = engine("");
+
+        assertThat(engine.rateFor(item(5, 12))).isEqualTo(5);
+        assertThat(engine.rateFor(item(null, 12))).isEqualTo(12);
+        assertThat(engine.rateFor(item(null, null))).isEqualTo(18);
+        // Zero is a real slab, not a missing rate
+        assertThat(engine.rateFor(item(0, 12))).isZero();
+    }
+
+    @Test
+    void acceptsOnlyConfiguredSlabs() {
+        GstTaxEngine engine = engine("");
+
+        for (Integer rate : new Integer[]{null, 0, 5, 12, 18, 28}) {
+            engine.validateRate(rate);
+        }
+        for (int rate : new int[]{-1, 1, 6, 13, 100, 101, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertThatThrownBy(() -> engine.validateRate(rate)).as("rate %d", rate)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("0, 5, 12, 18, 28");
+        }
+    }
+
+    @Test
+    void rejectsDefaultRateOutsideTheSlabs() {
+        GstTaxEngine engine = new GstTaxEngine();
+        ReflectionTestUtils.setField(engine, "slabs", new int[]{0, 5, 12, 28});
+        ReflectionTestUtils.setField(engine, "defaultRate", 18);
+        ReflectionTestUtils.setField(engine, "supplierStateCode", "");
+        ReflectionTestUtils.setField(engine, "roundingMode", RoundingMode.HALF_UP);
+
+        assertThatThrownBy(engine::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void placeOfSupplyComesFromTheGstinStateCode() {
+        GstTaxEngine engine = engine("27");
+
+        assertThat(engine.isInterState(customer("27AAPFU0939F1ZV"))).isFalse();
+        assertThat(engine.isInterState(customer("29AAPFU0939F1ZV"))).isTrue();
+        assertThat(engine.isInterState(customer(null))).isFalse();
+        assertThat(engine.isInterState(customer("2"))).isFalse();
+
+        // Without a supplier state every supply is intra-state
+        assertThat(engine("").isInterState(customer("29AAPFU0939F1ZV"))).isFalse();
+    }
+
+    @Test
+    void intraStateHalvesAddUpToTheLineGst() {
+        for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN,
+                RoundingMode.DOWN, RoundingMode.CEILING}) {
+            GstTaxEngine engine = engine("");
+            ReflectionTestUtils.setField(engine, "roundingMode", mode);
+            for (int rate : new int[]{0, 5, 12, 18, 28}) {
+                for (long amount = 0; amount < 2000; amount++) {
+                    TaxEngine.LineTax intra = engine.lineTax(amount, rate, false);
+                    TaxEngine.LineTax inter = engine.lineTax(amount, rate, true);
+                    long gst = OrderPricing.divide(amount * rate, 100, mode);
+
+                    assertThat(inter).isEqualTo(new TaxEngine.LineTax(0, 0, gst));
+                    assertThat(intra.igst()).isZero();
+                    assertThat(intra.total()).as("%d paise at %d%% %s", amount, rate, mode).isEqualTo(gst);
+                    assertThat(Math.abs(intra.cgst() - intra.sgst())).isLessThanOrEqualTo(1);
+                }
+            }
+        }
+    }
+
+    @Test
+    void oddPaiseGoToCgstWithHalfUp() {
+        // 18% of 5 paise is 0.9, which rounds to one paisa of GST; halving each part first would give zero
+        assertThat(engine("").lineTax(5, 18, false)).isEqualTo(new TaxEngine.LineTax(1, 0, 0));
+        // 18% of Rs 10.05 is 180.9 paise: 181 paise of GST, split 91 + 90
+        assertThat(engine("").lineTax(1005, 18, false)).isEqualTo(new TaxEngine.LineTax(91, 90, 0));
+    }
+
+    private static GstTaxEngine engine(String supplierStateCode) {
+        GstTaxEngine engine = new GstTaxEngine();
+        ReflectionTestUtils.setField(engine, "slabs", new int[]{0, 5, 12, 18, 28});
+        ReflectionTestUtils.setField(engine, "defaultRate", 18);
+        ReflectionTestUtils.setField(engine, "supplierStateCode", supplierStateCode);
+        ReflectionTestUtils.setField(engine, "roundingMode", RoundingMode.HALF_UP);
+        engine.init();
+        return engine;
+    }
+
+    private static CatalogItem item(Integer rate, Integer categoryRate) {
+        return new CatalogItem(1L, "Item", null, null, null, rate, null, true,
+                new CatalogItem.CatalogCategory(1L, "Category", null, categoryRate), null, null);
+    }
+
+    private static Customer customer(String gstin) {
+        Customer customer = new Customer();
+        customer.setGst(gstin);
+        return customer;
+    }
+}
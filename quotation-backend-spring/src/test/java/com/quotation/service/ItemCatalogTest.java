@@ -0,0 +1,45 @@
+package com.quotation.service;
+
+import com.quotation.entity.Category;
+import com.quotation.entity.Item;
+import com.quotation.repository.CategoryRepository;
+import com.quotation.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemCatalogTest {
+
+    @Test
+    void reloadUsesTheCategoryFetchedWithEachItem() {
+        // The category was created between the category query and the item query
+        Category category = new Category();
+        category.setId(7L);
+        category.setName("New category");
+        Item item = new Item();
+        item.setId(1L);
+        item.setName("Bolt");
+        item.setPrice(BigDecimal.ONE);
+        item.setCategory(category);
+
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of(item));
+        ItemCatalog catalog = new ItemCatalog();
+        ReflectionTestUtils.setField(catalog, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(catalog, "itemRepository", itemRepository);
+
+        catalog.reload();
+
+        assertThat(catalog.get(1L)).hasValueSatisfying(loaded -> assertThat(loaded.category().name()).isEqualTo("New category"));
+        assertThat(catalog.findByCategory(7L)).extracting(CatalogItem::id).containsExactly(1L);
+        assertThat(catalog.getStats().categories()).isEqualTo(1);
+    }
+}
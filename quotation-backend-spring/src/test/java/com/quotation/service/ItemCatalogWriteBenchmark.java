@@ -0,0 +1,56 @@
+package com.quotation.service;
+
+import com.quotation.LatencyRecorder;
+import com.quotation.entity.Category;
+import com.quotation.entity.Item;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cost of single-item catalog writes as the catalog grows; {@code -Dbench.catalog.items} sets the size.
+ */
+class ItemCatalogWriteBenchmark {
+
+    @Test
+    void singleItemWrites() throws Exception {
+        int size = LatencyRecorder.size("bench.catalog.items", 500_000);
+        ItemCatalog catalog = new ItemCatalog();
+        Category[] categories = new Category[50];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = new Category();
+            categories[i].setId((long) i + 1);
+            categories[i].setName("Category " + i);
+            catalog.putCategory(categories[i]);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= size; i++) {
+            catalog.put(item(i, categories[i % categories.length], "Item " + i));
+        }
+        System.out.printf("filled %d items one put at a time in %d ms%n", size, (System.nanoTime() - start) / 1_000_000);
+
+        int[] next = {0};
+        LatencyRecorder.measure("put existing item at " + size, 1000, 10_000, () -> {
+            int id = 1 + (next[0]++ * 7919) % size;
+            catalog.put(item(id, categories[id % categories.length], "Renamed " + id));
+        });
+        LatencyRecorder.measure("put and remove new item at " + size, 1000, 10_000, () -> {
+            long id = size + 1L + next[0]++;
+            catalog.put(item(id, categories[0], "New " + id));
+            catalog.remove(id);
+        });
+        LatencyRecorder.measure("rename category at " + size, 5, 20, () -> catalog.putCategory(categories[1]));
+    }
+
+    private static Item item(long id, Category category, String name) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(BigDecimal.ONE);
+        item.setCategory(category);
+        item.setUpdatedAt(LocalDateTime.now());
+        return item;
+    }
+}
@@ -0,0 +1,87 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.LatencyRecorder;
+import com.quotation.entity.Category;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import com.quotation.search.TextIndex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Typeahead latency: the name index on its own at catalog scale, and the catalog search against the
+ * {@code LIKE} queries it replaced on the same H2 data. {@code -Dbench.search.items} sets the index size,
+ * {@code -Dbench.search.db-items} the number of rows saved for the comparison.
+ */
+class ItemSearchBenchmark extends IntegrationTest {
+
+    private static final String[] WORDS = {"steel", "rod", "copper", "wire", "pipe", "bolt", "nut", "washer",
+            "cable", "pvc", "gi", "ms", "ss", "flat", "angle", "channel", "beam", "sheet", "plate", "coil", "tube",
+            "round", "square", "hex", "brass", "alu", "zinc", "hinge", "screw", "nail"};
+
+    private static final String[] QUERIES = {"s", "st", "ste", "steel", "eel", "ire", "co", "zz", "wire99",
+            "steel r", "hex bolt", "pipe 25mm", "copper wire 12", "angle channel 5", "steel rod 10mm"};
+
+    @Test
+    void nameIndex() throws Exception {
+        int size = LatencyRecorder.size("bench.search.items", 500_000);
+        Random random = new Random(1);
+        Map<Long, String> names = new HashMap<>();
+        for (long id = 0; id < size; id++) {
+            names.put(id, name(random));
+        }
+        TextIndex index = new TextIndex();
+        long start = System.nanoTime();
+        index.reset(names);
+        System.out.printf("index %d names in %d ms%n", size, (System.nanoTime() - start) / 1_000_000);
+
+        int iterations = LatencyRecorder.size("bench.iterations", 1000);
+        for (String query : QUERIES) {
+            LatencyRecorder.measure("index \"" + query + "\"", iterations, iterations,
+                    () -> index.search(query, null, 20));
+        }
+    }
+
+    @Test
+    void catalogAgainstRepository() throws Exception {
+        int size = LatencyRecorder.size("bench.search.db-items", 20_000);
+        User user = createUser(User.Role.USER);
+        Category category = new Category();
+        category.setName(unique("Category"));
+        category.setCreatedBy(user);
+        category = categoryRepository.save(category);
+
+        Random random = new Random(1);
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setName(name(random));
+            item.setPrice(BigDecimal.TEN);
+            item.setCategory(category);
+            item.setCreatedBy(user);
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+        itemCatalog.reload();
+
+        int iterations = LatencyRecorder.size("bench.iterations", 1000) / 10;
+        for (String query : QUERIES) {
+            LatencyRecorder.measure("catalog \"" + query + "\"", iterations, iterations,
+                    () -> itemCatalog.search(query, null, 20));
+            LatencyRecorder.measure("repository \"" + query + "\"", iterations / 10, iterations,
+                    () -> itemRepository.searchItems(query));
+        }
+    }
+
+    private static String name(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + random.nextInt(100) + "mm " + WORDS[random.nextInt(WORDS.length)] + random.nextInt(1000);
+    }
+}
@@ -0,0 +1,120 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.CursorPageResponse;
+import com.quotation.dto.EmployeeOption;
+import com.quotation.dto.EmployeeRequest;
+import com.quotation.dto.EmployeeResponse;
+import com.quotation.dto.PageResponse;
+import com.quotation.entity.User;
+import com.quotation.repository.NameCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Offset pages and keyset cursors over the employee listing, where several employees share a name. The
+ * database is shared, so the walks cover every employee and the assertions only look at this test's rows.
+ */
+class ListingsTest extends IntegrationTest {
+
+    private static final Set<String> SORTABLE = Set.of("name", "id");
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private String name;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        authenticate(createUser(User.Role.USER));
+        name = unique("Employee");
+        ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            EmployeeRequest request = new EmployeeRequest();
+            request.setName(name);
+            request.setPhone("98765 43210");
+            ids.add(employeeService.createEmployee(request).getId());
+        }
+    }
+
+    @Test
+    void sortedRejectsPropertiesOutsideTheWhitelist() {
+        assertThatThrownBy(() -> Listings.sorted(PageRequest.of(0, 20, Sort.by("password")), SORTABLE,
+                Sort.by("name")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+        assertThatThrownBy(() -> employeeService.getEmployeePage(PageRequest.of(0, 20, Sort.by("createdBy"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortedAppendsTheIdOnce() {
+        Pageable defaulted = Listings.sorted(PageRequest.of(2, 20), SORTABLE, Sort.by("name"));
+        assertThat(defaulted.getSort()).isEqualTo(Sort.by("name").and(Sort.by("id")));
+        assertThat(defaulted.getPageNumber()).isEqualTo(2);
+
+        Sort descending = Sort.by(Sort.Direction.DESC, "name", "id");
+        assertThat(Listings.sorted(PageRequest.of(0, 20, descending), SORTABLE, Sort.by("name")).getSort())
+                .isEqualTo(descending);
+    }
+
+    @Test
+    void pagesByNameNeitherSkipNorRepeatEqualNames() {
+        List<Long> seen = new ArrayList<>();
+        PageResponse<EmployeeResponse> page;
+        int number = 0;
+        do {
+            page = employeeService.getEmployeePage(PageRequest.of(number++, 3, Sort.by("name")));
+            page.getContent().forEach(employee -> seen.add(employee.getId()));
+        } while (page.isHasNext());
+
+        assertThat(new HashSet<>(seen)).hasSameSizeAs(seen);
+        assertThat(seen.stream().filter(ids::contains).toList()).isEqualTo(ids);
+    }
+
+    @Test
+    void optionCursorsNeitherSkipNorRepeatEqualNames() {
+        List<Long> seen = new ArrayList<>();
+        // Starts just before this test's name instead of at the first employee
+        String cursor = new NameCursor(name, 0L).encode();
+        CursorPageResponse<EmployeeOption> page;
+        do {
+            page = employeeService.getEmployeeOptions(cursor, 3);
+            page.getContent().stream()
+                    .filter(option -> option.name().equals(name))
+                    .forEach(option -> seen.add(option.id()));
+            cursor = page.getNextCursor();
+        } while (page.isHasMore() && page.getContent().stream().allMatch(option -> option.name().equals(name)));
+
+        assertThat(seen).isEqualTo(ids);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("42".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("x|name".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : new String[]{"%%%", noSeparator, notANumber}) {
+            assertThatThrownBy(() -> employeeService.getEmployeeOptions(cursor, 3))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+        NameCursor cursor = new NameCursor("a|b", 5L);
+        assertThat(NameCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+}
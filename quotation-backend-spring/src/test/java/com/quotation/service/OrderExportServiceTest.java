@@ -0,0 +1,173 @@
+package com.quotation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderFilter;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.Order;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports this test's orders, selected by customer, and reads the CSV and NDJSON back. Lines are listed in
+ * the order they were entered, which is not item id order, and the customer and item names need quoting.
+ */
+class OrderExportServiceTest extends IntegrationTest {
+
+    private static final String AWKWARD = "Shah, \"Sons\"\nTraders";
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Customer customer;
+    private List<List<Long>> orders;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        customer = createCustomer(user, null);
+        customer.setName(AWKWARD + " " + unique(""));
+        customer = customerRepository.save(customer);
+        List<Item> items = new ArrayList<>(createItems(user, 4));
+        Item awkward = items.get(0);
+        awkward.setName(AWKWARD);
+        itemRepository.save(awkward);
+        itemCatalog.put(awkward);
+
+        // Each entry is the order id followed by its item ids in entry order
+        orders = new ArrayList<>();
+        for (List<Item> lines : List.of(List.of(items.get(3), items.get(2), items.get(1), items.get(0)),
+                items.subList(1, 3), List.of(items.get(3), items.get(0)))) {
+            List<Long> order = new ArrayList<>();
+            order.add(orderService.createOrder(orderRequest(customer, lines)).getId());
+            lines.forEach(item -> order.add(item.getId()));
+            orders.add(order);
+        }
+        orderService.updateOrderStatus(orders.get(1).get(0), Order.OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void csvListsEveryLineInOrderAndLineOrder() throws IOException {
+        List<List<String>> records = csv(export(filter(null), OrderExportService.Format.CSV));
+
+        assertThat(records.get(0)).startsWith("orderId", "orderNumber").endsWith("lineTotal");
+        List<List<String>> rows = records.subList(1, records.size());
+        assertThat(rows).allSatisfy(row -> assertThat(row).hasSize(records.get(0).size()));
+        assertThat(rows.stream().map(row -> List.of(row.get(0), row.get(12))).toList()).isEqualTo(expectedLines(null));
+        assertThat(rows).allSatisfy(row -> assertThat(row.get(5)).isEqualTo(customer.getName()));
+        assertThat(rows.stream().filter(row -> row.get(13).equals(AWKWARD))).hasSize(2);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerOrderWithItsLinesInOrder() throws IOException {
+        String[] lines = export(filter(null), OrderExportService.Format.NDJSON).split("\n");
+
+        assertThat(lines).hasSize(orders.size());
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode order = objectMapper.readTree(lines[i]);
+            List<Long> expected = orders.get(i);
+            assertThat(order.get("id").asLong()).isEqualTo(expected.get(0));
+            assertThat(order.get("customerName").asText()).isEqualTo(customer.getName());
+            List<Long> itemIds = new ArrayList<>();
+            order.get("items").forEach(item -> itemIds.add(item.get("itemId").asLong()));
+            assertThat(itemIds).isEqualTo(expected.subList(1, expected.size()));
+        }
+    }
+
+    @Test
+    void filtersApply() throws IOException {
+        List<List<String>> cancelled = csv(export(filter(Order.OrderStatus.CANCELLED), OrderExportService.Format.CSV));
+        assertThat(cancelled.subList(1, cancelled.size()).stream().map(row -> List.of(row.get(0), row.get(12))).toList())
+                .isEqualTo(expectedLines(Order.OrderStatus.CANCELLED));
+        assertThat(cancelled.subList(1, cancelled.size())).allSatisfy(row -> assertThat(row.get(3)).isEqualTo("CANCELLED"));
+
+        OrderFilter future = filter(null);
+        future.setBillingDateFrom(LocalDate.now().plusDays(1));
+        assertThat(export(future, OrderExportService.Format.NDJSON)).isEmpty();
+        assertThat(csv(export(future, OrderExportService.Format.CSV))).hasSize(1);
+    }
+
+    private OrderFilter filter(Order.OrderStatus status) {
+        OrderFilter filter = new OrderFilter();
+        filter.setCustomerId(customer.getId());
+        filter.setStatus(status);
+        return filter;
+    }
+
+    private List<List<String>> expectedLines(Order.OrderStatus status) {
+        List<List<String>> lines = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            boolean cancelled = i == 1;
+            if (status == null || cancelled == (status == Order.OrderStatus.CANCELLED)) {
+                List<Long> order = orders.get(i);
+                order.subList(1, order.size()).forEach(itemId -> lines.add(List.of(order.get(0).toString(),
+                        itemId.toString())));
+            }
+        }
+        return lines;
+    }
+
+    private String export(OrderFilter filter, OrderExportService.Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        orderExportService.exportOrders(filter, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * RFC 4180 records: quoted fields may contain commas, doubled quotes and newlines.
+     */
+    private static List<List<String>> csv(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        assertThat(quoted).as("unterminated quote").isFalse();
+        assertThat(record).as("unterminated record").isEmpty();
+        return records;
+    }
+}
@@ -0,0 +1,53 @@
+package com.quotation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderImportReaderTest {
+
+    private static final String HEADER = "reference,customerId,employeeId,gstEnabled,notes,itemId,quantity,price\n";
+
+    @Test
+    void quotedFieldsMayContainLineBreaks() throws IOException {
+        String csv = HEADER
+                + "A,1,,true,\"Deliver to gate 2\nCall \"\"Ravi\"\", ext 4\",10,2,5.00\n"
+                + "A,1,,true,,11,1,3.00\n"
+                + "B,2,,false,plain,12,4,1.50\n";
+        try (OrderImportReader reader = csv(csv)) {
+            OrderImportReader.ImportRow first = reader.next();
+            assertThat(first.error()).isNull();
+            assertThat(first.reference()).isEqualTo("A");
+            assertThat(first.request().getNotes()).isEqualTo("Deliver to gate 2\nCall \"Ravi\", ext 4");
+            assertThat(first.request().getItems()).hasSize(2);
+
+            OrderImportReader.ImportRow second = reader.next();
+            assertThat(second.error()).isNull();
+            assertThat(second.reference()).isEqualTo("B");
+            assertThat(second.request().getCustomerId()).isEqualTo(2L);
+            assertThat(second.request().getItems()).singleElement()
+                    .satisfies(item -> assertThat(item.getItemId()).isEqualTo(12L));
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void unterminatedQuoteFailsTheUpload() throws IOException {
+        String csv = HEADER + "A,1,,true,\"never closed,10,2,5.00\n";
+        assertThatThrownBy(() -> csv(csv))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unterminated");
+    }
+
+    private static OrderImportReader csv(String content) throws IOException {
+        return OrderImportReader.open("text/csv",
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+    }
+}
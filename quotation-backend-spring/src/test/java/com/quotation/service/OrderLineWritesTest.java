@@ -0,0 +1,92 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderItemRequest;
+import com.quotation.dto.OrderItemResponse;
+import com.quotation.dto.OrderRequest;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Updating an order writes only the lines that changed. The tests run without JDBC batching, so every
+ * written row is its own prepared statement; an update always reads the order first (one statement) and
+ * writes the order row when its totals change (one more).
+ */
+class OrderLineWritesTest extends IntegrationTest {
+
+    private static final int LINES = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    private Customer customer;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        customer = createCustomer(user, null);
+        items = createItems(user, LINES + 1);
+    }
+
+    @Test
+    void editingOneLineCostsTheSameForAnyOrderSize() {
+        for (int size : new int[]{5, LINES}) {
+            OrderRequest request = orderRequest(customer, items.subList(0, size));
+            Long id = orderService.createOrder(request).getId();
+
+            assertThat(statementsFor(id, request)).as("unchanged, %d lines", size).isEqualTo(1);
+            request.getItems().get(size / 2).setQuantity(4);
+            assertThat(statementsFor(id, request)).as("one line edited, %d lines", size).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void rewritingEveryLineWritesEveryRow() {
+        OrderRequest request = orderRequest(customer, items.subList(0, LINES));
+        Long id = orderService.createOrder(request).getId();
+
+        request.getItems().forEach(line -> line.setQuantity(5));
+
+        assertThat(statementsFor(id, request)).isEqualTo(1 + LINES + 1);
+    }
+
+    @Test
+    void appendingOrRemovingTheLastLineTouchesOnlyThatRow() {
+        OrderRequest request = orderRequest(customer, items.subList(0, LINES));
+        Long id = orderService.createOrder(request).getId();
+
+        OrderItemRequest appended = orderRequest(customer, items.subList(LINES, LINES + 1)).getItems().get(0);
+        appended.setPrice(new BigDecimal("99.00"));
+        request.getItems().add(appended);
+        assertThat(statementsFor(id, request)).isEqualTo(3);
+        assertThat(lineItemIds(id)).hasSize(LINES + 1).last().isEqualTo(items.get(LINES).getId());
+
+        request.getItems().remove(LINES);
+        assertThat(statementsFor(id, request)).isEqualTo(3);
+        assertThat(lineItemIds(id))
+                .containsExactlyElementsOf(items.subList(0, LINES).stream().map(Item::getId).toList());
+    }
+
+    private long statementsFor(Long orderId, OrderRequest request) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        orderService.updateOrder(orderId, request);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> lineItemIds(Long orderId) {
+        return orderService.getOrderById(orderId).getItems().stream().map(OrderItemResponse::getItemId).toList();
+    }
+}
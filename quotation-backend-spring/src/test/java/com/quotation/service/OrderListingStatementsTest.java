@@ -0,0 +1,51 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderFilter;
+import com.quotation.dto.OrderPageResponse;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderListingStatementsTest extends IntegrationTest {
+
+    private static final int ORDERS = 12;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void pageCostsTheSameNumberOfStatementsForAnySize() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        Customer customer = createCustomer(user, null);
+        List<Item> items = createItems(user, 3);
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.createOrder(orderRequest(customer, items));
+        }
+        OrderFilter filter = new OrderFilter();
+        filter.setCustomerId(customer.getId());
+
+        long single = statementsFor(filter, 1);
+        long full = statementsFor(filter, ORDERS);
+
+        assertThat(single).isPositive();
+        assertThat(full).isEqualTo(single);
+    }
+
+    private long statementsFor(OrderFilter filter, int size) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        OrderPageResponse page = orderService.getOrders(filter, null, size);
+        assertThat(page.getOrders()).hasSize(size);
+        assertThat(page.getOrders()).allSatisfy(order -> assertThat(order.getItems()).hasSize(3));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,94 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderResponse;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderNumberConcurrencyTest extends IntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void generatorsSharingTheSequenceNeverRepeatANumber() throws Exception {
+        // A second generator stands in for another node drawing blocks from the same sequence
+        OrderNumberGenerator otherNode = beanFactory.createBean(SequenceOrderNumberGenerator.class);
+        int perThread = 500;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            OrderNumberGenerator generator = t % 2 == 0 ? orderNumberGenerator : otherNode;
+            tasks.add(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    assertThat(numbers.add(generator.nextOrderNumber())).isTrue();
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(numbers).hasSize(THREADS * perThread);
+    }
+
+    @Test
+    void parallelOrdersGetUniqueNumbers() throws Exception {
+        User user = createUser(User.Role.USER);
+        Customer customer = createCustomer(user, null);
+        List<Item> items = createItems(user, 1);
+        int perThread = 125;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                authenticate(user);
+                for (int i = 0; i < perThread; i++) {
+                    OrderResponse order = orderService.createOrder(orderRequest(customer, items));
+                    assertThat(numbers.add(order.getOrderNumber())).isTrue();
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(numbers).hasSize(THREADS * perThread);
+    }
+
+    private static void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+    }
+}
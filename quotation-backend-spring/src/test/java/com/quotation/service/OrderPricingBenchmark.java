@@ -0,0 +1,154 @@
+package com.quotation.service;
+
+import com.quotation.LatencyRecorder;
+import com.quotation.entity.Order;
+import com.quotation.entity.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Pricing a {@code bench.pricing.lines}-line quotation (default 1,000): line totals and order totals through
+ * {@link OrderPricing}, next to a copy of the {@code BigDecimal} stream-reduce it replaced. Reports latency
+ * and the bytes allocated per order, from the JVM's per-thread allocation counter. The new path also splits
+ * GST per line, which the old one did not do at all.
+ */
+class OrderPricingBenchmark {
+
+    private long sink;
+
+    @Test
+    void thousandLineOrder() throws Exception {
+        int lines = LatencyRecorder.size("bench.pricing.lines", 1000);
+        int iterations = LatencyRecorder.size("bench.iterations", 2000);
+        OrderPricing pricing = pricing();
+        Order order = order(lines);
+
+        LatencyRecorder.Operation current = () -> {
+            for (OrderItem item : order.getItems()) {
+                BigDecimal unitPrice = pricing.unitPrice(item.getPrice());
+                item.setTotal(pricing.lineTotal(unitPrice, item.getQuantity()));
+            }
+            pricing.applyTotals(order);
+            sink += order.getTotal().unscaledValue().longValue();
+        };
+        LatencyRecorder.Operation baseline = () -> {
+            for (OrderItem item : order.getItems()) {
+                item.setTotal(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+            calculateOrderTotals(order);
+            sink += order.getTotal().unscaledValue().longValue();
+        };
+
+        LatencyRecorder.measure("BigDecimal stream-reduce (before), " + lines + " lines", iterations, iterations,
+                baseline);
+        reportAllocation("BigDecimal stream-reduce (before)", iterations, baseline);
+        LatencyRecorder.measure("OrderPricing in paise (after), " + lines + " lines", iterations, iterations,
+                current);
+        reportAllocation("OrderPricing in paise (after)", iterations, current);
+        System.out.println("checksum " + sink);
+    }
+
+    @Test
+    void divide() throws Exception {
+        int batch = LatencyRecorder.size("bench.pricing.batch", 1000);
+        int iterations = LatencyRecorder.size("bench.iterations", 20_000);
+        Random random = new Random(1);
+        long[] amounts = new long[batch];
+        BigDecimal[] decimals = new BigDecimal[batch];
+        for (int i = 0; i < batch; i++) {
+            // Line total in paise times a GST rate, as the tax engine divides it
+            amounts[i] = random.nextLong(-100_000_000L, 100_000_000L) * 18;
+            decimals[i] = BigDecimal.valueOf(amounts[i]);
+        }
+        BigDecimal hundred = BigDecimal.valueOf(100);
+
+        for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN}) {
+            LatencyRecorder.measure("long divide, " + mode + " x" + batch, iterations, iterations, () -> {
+                long sum = 0;
+                for (long amount : amounts) {
+                    sum += OrderPricing.divide(amount, 100, mode);
+                }
+                sink += sum;
+            });
+            LatencyRecorder.measure("BigDecimal divide, " + mode + " x" + batch, iterations, iterations, () -> {
+                long sum = 0;
+                for (BigDecimal amount : decimals) {
+                    sum += amount.divide(hundred, 0, mode).longValue();
+                }
+                sink += sum;
+            });
+        }
+        System.out.println("checksum " + sink);
+    }
+
+    /**
+     * What {@code OrderService} did before {@link OrderPricing}: one GST rate on the summed line totals.
+     */
+    private static void calculateOrderTotals(Order order) {
+        BigDecimal subtotal = order.getItems().stream()
+                .map(OrderItem::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        order.setSubtotal(subtotal);
+
+        if (order.getGstEnabled()) {
+            BigDecimal gstRate = BigDecimal.valueOf(order.getGstRate()).divide(BigDecimal.valueOf(100));
+            BigDecimal gstAmount = subtotal.multiply(gstRate);
+            order.setGstAmount(gstAmount);
+            order.setTotal(subtotal.add(gstAmount));
+        } else {
+            order.setGstAmount(BigDecimal.ZERO);
+            order.setTotal(subtotal);
+        }
+    }
+
+    private static void reportAllocation(String name, int iterations, LatencyRecorder.Operation operation)
+            throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        System.out.printf("%-48s %10d bytes allocated per order%n", name, allocated / iterations);
+    }
+
+    private static OrderPricing pricing() {
+        GstTaxEngine taxEngine = new GstTaxEngine();
+        ReflectionTestUtils.setField(taxEngine, "slabs", new int[]{0, 5, 12, 18, 28});
+        ReflectionTestUtils.setField(taxEngine, "defaultRate", 18);
+        ReflectionTestUtils.setField(taxEngine, "supplierStateCode", "");
+        ReflectionTestUtils.setField(taxEngine, "roundingMode", RoundingMode.HALF_UP);
+        taxEngine.init();
+        OrderPricing pricing = new OrderPricing();
+        ReflectionTestUtils.setField(pricing, "taxEngine", taxEngine);
+        ReflectionTestUtils.setField(pricing, "roundingMode", RoundingMode.HALF_UP);
+        return pricing;
+    }
+
+    private static Order order(int lines) {
+        Random random = new Random(1);
+        int[] slabs = {5, 12, 18, 28};
+        Order order = new Order();
+        order.setGstEnabled(true);
+        order.setGstRate(18);
+        List<OrderItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = new OrderItem();
+            item.setQuantity(1 + random.nextInt(50));
+            item.setPrice(BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2));
+            item.setGstRate(slabs[random.nextInt(slabs.length)]);
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+}
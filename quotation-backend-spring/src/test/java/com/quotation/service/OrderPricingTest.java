@@ -0,0 +1,73 @@
+package com.quotation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderPricingTest {
+
+    @Test
+    void divideMatchesBigDecimalForEveryRoundingMode() {
+        List<long[]> operands = new ArrayList<>();
+        // Every sign combination and every remainder around the halfway point, odd and even divisors
+        for (long dividend = -60; dividend <= 60; dividend++) {
+            for (long divisor = -8; divisor <= 8; divisor++) {
+                if (divisor != 0) {
+                    operands.add(new long[]{dividend, divisor});
+                }
+            }
+        }
+        long[] edges = {Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE, Long.MIN_VALUE + 1, 1, -1, 2, -2, 3,
+                100, -100, 200, Long.MAX_VALUE / 2, Long.MIN_VALUE / 2};
+        for (long dividend : edges) {
+            for (long divisor : edges) {
+                if (divisor != Long.MIN_VALUE && !(dividend == Long.MIN_VALUE && divisor == -1)) {
+                    operands.add(new long[]{dividend, divisor});
+                }
+            }
+        }
+        Random random = new Random(24);
+        for (int i = 0; i < 20_000; i++) {
+            long divisor = i % 2 == 0 ? (random.nextBoolean() ? 100 : 200) : random.nextLong(-1_000_000, 1_000_000);
+            if (divisor != 0) {
+                operands.add(new long[]{random.nextLong(Long.MIN_VALUE + 1, Long.MAX_VALUE), divisor});
+            }
+        }
+
+        for (RoundingMode mode : RoundingMode.values()) {
+            for (long[] operand : operands) {
+                long dividend = operand[0];
+                long divisor = operand[1];
+                boolean inexact = dividend % divisor != 0;
+                if (mode == RoundingMode.UNNECESSARY && inexact) {
+                    assertThatThrownBy(() -> OrderPricing.divide(dividend, divisor, mode))
+                            .as("%d / %d", dividend, divisor)
+                            .isInstanceOf(IllegalArgumentException.class);
+                } else {
+                    long expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, mode)
+                            .longValueExact();
+                    assertThat(OrderPricing.divide(dividend, divisor, mode))
+                            .as("%d / %d %s", dividend, divisor, mode)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void divideRejectsQuotientsOutsideTheLongRange() {
+        for (RoundingMode mode : RoundingMode.values()) {
+            assertThatThrownBy(() -> OrderPricing.divide(Long.MIN_VALUE, -1, mode))
+                    .isInstanceOf(ArithmeticException.class);
+            assertThatThrownBy(() -> OrderPricing.divide(Long.MIN_VALUE + 1, Long.MIN_VALUE, mode))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+}
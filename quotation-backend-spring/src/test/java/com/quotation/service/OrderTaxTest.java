@@ -0,0 +1,144 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderItemResponse;
+import com.quotation.dto.OrderRequest;
+import com.quotation.dto.OrderResponse;
+import com.quotation.entity.Category;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderTaxTest extends IntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private GstTaxEngine taxEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser(User.Role.USER);
+        authenticate(user);
+        Item own = item(category(12), 5);
+        Item fromCategory = item(category(12), null);
+        Item fromDefault = item(category(null), null);
+        items = List.of(own, fromCategory, fromDefault);
+    }
+
+    @Test
+    void linesUseItemThenCategoryThenDefaultRate() {
+        OrderResponse order = orderService.createOrder(request(createCustomer(user, null), null));
+
+        assertThat(order.getItems()).extracting(OrderItemResponse::getGstRate).containsExactly(5, 12, 18);
+        assertThat(order.getInterState()).isFalse();
+        assertStoredTotalsAddUp(order.getId());
+    }
+
+    @Test
+    void intraStateLinesSplitOddPaiseWithoutLosingThem() {
+        OrderResponse order = orderService.createOrder(request(createCustomer(user, null), null));
+
+        // 3 x Rs 10.05 at 5%, 12% and 18%: 1.5075, 3.618 and 5.427 rupees of GST
+        assertThat(order.getItems()).extracting(OrderItemResponse::getCgstAmount)
+                .containsExactly(new BigDecimal("0.76"), new BigDecimal("1.81"), new BigDecimal("2.72"));
+        assertThat(order.getItems()).extracting(OrderItemResponse::getSgstAmount)
+                .containsExactly(new BigDecimal("0.75"), new BigDecimal("1.81"), new BigDecimal("2.71"));
+        assertThat(order.getGstAmount()).isEqualByComparingTo("10.56");
+        assertStoredTotalsAddUp(order.getId());
+    }
+
+    @Test
+    void placeOfSupplyFollowsGstinUnlessTheRequestSaysOtherwise() {
+        Customer local = createCustomer(user, "27AAPFU0939F1ZV");
+        Customer outOfState = createCustomer(user, "29AAPFU0939F1ZV");
+        Object configured = ReflectionTestUtils.getField(taxEngine, "supplierStateCode");
+        ReflectionTestUtils.setField(taxEngine, "supplierStateCode", "27");
+        try {
+            OrderResponse intra = orderService.createOrder(request(local, null));
+            OrderResponse inter = orderService.createOrder(request(outOfState, null));
+            OrderResponse overridden = orderService.createOrder(request(outOfState, false));
+            OrderResponse forced = orderService.createOrder(request(local, true));
+
+            assertThat(intra.getInterState()).isFalse();
+            assertThat(intra.getIgstAmount()).isEqualByComparingTo("0");
+            assertThat(inter.getInterState()).isTrue();
+            assertThat(inter.getCgstAmount()).isEqualByComparingTo("0");
+            assertThat(inter.getIgstAmount()).isEqualByComparingTo(intra.getGstAmount());
+            assertThat(overridden.getInterState()).isFalse();
+            assertThat(forced.getInterState()).isTrue();
+            for (OrderResponse order : List.of(intra, inter, overridden, forced)) {
+                assertStoredTotalsAddUp(order.getId());
+            }
+        } finally {
+            ReflectionTestUtils.setField(taxEngine, "supplierStateCode", configured);
+        }
+        // An empty supplier state makes every order intra-state, GSTIN or not
+        assertThat(orderService.createOrder(request(outOfState, null)).getInterState()).isFalse();
+    }
+
+    private void assertStoredTotalsAddUp(Long orderId) {
+        Map<String, Object> lines = jdbcTemplate.queryForMap("SELECT SUM(total) AS subtotal, "
+                + "SUM(cgst_amount) AS cgst, SUM(sgst_amount) AS sgst, SUM(igst_amount) AS igst "
+                + "FROM order_items WHERE order_id = ?", orderId);
+        Map<String, Object> order = jdbcTemplate.queryForMap("SELECT subtotal, cgst_amount AS cgst, "
+                + "sgst_amount AS sgst, igst_amount AS igst, gst_amount AS gst, total FROM orders WHERE id = ?", orderId);
+        for (String column : new String[]{"subtotal", "cgst", "sgst", "igst"}) {
+            assertThat((BigDecimal) order.get(column)).as(column).isEqualByComparingTo((BigDecimal) lines.get(column));
+        }
+        BigDecimal gst = ((BigDecimal) lines.get("cgst")).add((BigDecimal) lines.get("sgst"))
+                .add((BigDecimal) lines.get("igst"));
+        assertThat((BigDecimal) order.get("gst")).isEqualByComparingTo(gst);
+        assertThat((BigDecimal) order.get("total")).isEqualByComparingTo(((BigDecimal) lines.get("subtotal")).add(gst));
+    }
+
+    private OrderRequest request(Customer customer, Boolean interState) {
+        OrderRequest request = orderRequest(customer, items);
+        request.getItems().forEach(line -> {
+            line.setQuantity(3);
+            line.setPrice(new BigDecimal("10.05"));
+        });
+        request.setInterState(interState);
+        return request;
+    }
+
+    private Category category(Integer gstRate) {
+        Category category = new Category();
+        category.setName(unique("Category"));
+        category.setGstRate(gstRate);
+        category.setCreatedBy(user);
+        category = categoryRepository.save(category);
+        itemCatalog.putCategory(category);
+        return category;
+    }
+
+    private Item item(Category category, Integer gstRate) {
+        Item item = new Item();
+        item.setName(unique("Item"));
+        item.setPrice(BigDecimal.TEN);
+        item.setGstRate(gstRate);
+        item.setCategory(category);
+        item.setCreatedBy(user);
+        item = itemRepository.save(item);
+        itemCatalog.put(item);
+        return item;
+    }
+}
@@ -0,0 +1,49 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.LatencyRecorder;
+import com.quotation.dto.OrderResponse;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+/**
+ * Receipt throughput: rendering from scratch against serving from the receipt cache, for a small and a
+ * large quotation. {@code -Dbench.receipt.lines} sets the size of the large one.
+ */
+class ReceiptRenderBenchmark extends IntegrationTest {
+
+    @Autowired
+    private ReceiptRenderer receiptRenderer;
+
+    @Autowired
+    private ReceiptService receiptService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void renderThroughput() throws Exception {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        Customer customer = createCustomer(user, "27AABCU9603R1ZM");
+        int iterations = LatencyRecorder.size("bench.iterations", 200);
+
+        for (int lines : new int[]{10, LatencyRecorder.size("bench.receipt.lines", 500)}) {
+            List<Item> items = createItems(user, lines);
+            Long orderId = orderService.createOrder(orderRequest(customer, items)).getId();
+            OrderResponse order = orderService.getOrderById(orderId);
+
+            LatencyRecorder.measure("render " + lines + " lines", iterations / 4, iterations,
+                    () -> receiptRenderer.render(order));
+            LatencyRecorder.measure("load and render " + lines + " lines", iterations / 4, iterations,
+                    () -> receiptRenderer.render(orderService.getOrderById(orderId)));
+            LatencyRecorder.measure("cached receipt " + lines + " lines", iterations, iterations * 10,
+                    () -> receiptService.getReceipt(orderId));
+        }
+    }
+}
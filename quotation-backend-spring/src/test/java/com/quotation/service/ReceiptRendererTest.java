@@ -0,0 +1,92 @@
+package com.quotation.service;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import com.quotation.dto.OrderItemResponse;
+import com.quotation.dto.OrderResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReceiptRendererTest {
+
+    private final ReceiptRenderer renderer = new ReceiptRenderer();
+
+    @Test
+    void legacyOrderWithoutLineTaxSplitsTheStoredTotal() throws IOException {
+        OrderResponse order = order(false);
+        order.setGstRate(18);
+        order.setGstAmount(new BigDecimal("3.61"));
+        order.setTotal(new BigDecimal("23.71"));
+        OrderItemResponse line = order.getItems().get(0);
+        line.setGstRate(null);
+
+        String text = text(order);
+
+        assertThat(text).contains("CGST@9%1.81").contains("SGST@9%1.80").doesNotContain("IGST");
+    }
+
+    @Test
+    void lineTaxIsSummedPerSlab() throws IOException {
+        OrderResponse order = order(false);
+        order.setItems(List.of(order.getItems().get(0), line(12, "0.60", "0.60", "0"),
+                line(12, "0.61", "0.60", "0")));
+
+        String text = text(order);
+
+        assertThat(text).contains("CGST@6%1.21").contains("SGST@6%1.20")
+                .contains("CGST@2.5%0.25").contains("SGST@2.5%0.25");
+    }
+
+    @Test
+    void interStateOrderShowsIgst() throws IOException {
+        OrderResponse order = order(true);
+        order.setItems(List.of(line(18, "0", "0", "3.61")));
+
+        assertThat(text(order)).contains("IGST@18%3.61").doesNotContain("CGST");
+    }
+
+    /**
+     * Page text without whitespace; the extractor does not separate adjacent cells consistently.
+     */
+    private String text(OrderResponse order) throws IOException {
+        PdfReader reader = new PdfReader(renderer.render(order));
+        try {
+            return new PdfTextExtractor(reader).getTextFromPage(1).replaceAll("\\s+", "");
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static OrderResponse order(boolean interState) {
+        OrderResponse order = new OrderResponse();
+        order.setOrderNumber("ORD-TEST");
+        order.setCustomerName("Customer");
+        order.setStatus("PENDING");
+        order.setBillingDate(LocalDate.of(2024, 4, 1));
+        order.setGstEnabled(true);
+        order.setInterState(interState);
+        order.setSubtotal(new BigDecimal("20.10"));
+        order.setTotal(new BigDecimal("20.10"));
+        order.setItems(List.of(line(5, "0.25", "0.25", "0")));
+        return order;
+    }
+
+    private static OrderItemResponse line(Integer rate, String cgst, String sgst, String igst) {
+        OrderItemResponse line = new OrderItemResponse();
+        line.setItemName("Item");
+        line.setQuantity(1);
+        line.setPrice(new BigDecimal("10.05"));
+        line.setTotal(new BigDecimal("10.05"));
+        line.setGstRate(rate);
+        line.setCgstAmount(new BigDecimal(cgst));
+        line.setSgstAmount(new BigDecimal(sgst));
+        line.setIgstAmount(new BigDecimal(igst));
+        return line;
+    }
+}
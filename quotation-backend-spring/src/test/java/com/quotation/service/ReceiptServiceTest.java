@@ -0,0 +1,44 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.CustomerRequest;
+import com.quotation.entity.Customer;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReceiptServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ReceiptService receiptService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void customerEditInvalidatesCachedReceipts() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        Customer customer = createCustomer(user, null);
+        Long orderId = orderService.createOrder(orderRequest(customer, createItems(user, 2))).getId();
+
+        ReceiptService.Receipt first = receiptService.getReceipt(orderId);
+        assertThat(receiptService.getReceipt(orderId)).isSameAs(first);
+
+        CustomerRequest request = new CustomerRequest();
+        request.setName(customer.getName());
+        request.setPhone("91234 56789");
+        request.setAddress("12 New Road");
+        customerService.updateCustomer(customer.getId(), request);
+
+        ReceiptService.Receipt second = receiptService.getReceipt(orderId);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.version().customerUpdatedAt()).isAfter(first.version().customerUpdatedAt());
+        assertThat(receiptService.getReceipt(orderId)).isSameAs(second);
+    }
+}
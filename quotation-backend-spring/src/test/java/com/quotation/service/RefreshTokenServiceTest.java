@@ -0,0 +1,72 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.entity.RefreshToken;
+import com.quotation.entity.User;
+import com.quotation.exception.InvalidTokenException;
+import com.quotation.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceTest extends IntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    void exchangesOnceAndRevokesEveryTokenOnReuse() {
+        User user = createUser(User.Role.USER);
+        String token = refreshTokenService.issue(user.getId());
+        String otherSession = refreshTokenService.issue(user.getId());
+
+        assertThat(refreshTokenService.exchange(token).getId()).isEqualTo(user.getId());
+        assertThat(tokensOf(user)).filteredOn(t -> t.getRevokedAt() == null).hasSize(1);
+
+        assertThatThrownBy(() -> refreshTokenService.exchange(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("already been used");
+        // Reuse looks like theft, so the user's other sessions are cut off too
+        assertThat(tokensOf(user)).allSatisfy(t -> assertThat(t.getRevokedAt()).isNotNull());
+        assertThatThrownBy(() -> refreshTokenService.exchange(otherSession))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void rejectsUnknownExpiredAndInactive() {
+        assertThatThrownBy(() -> refreshTokenService.exchange("unknown"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("Invalid");
+
+        User user = createUser(User.Role.USER);
+        String expired = refreshTokenService.issue(user.getId());
+        RefreshToken stored = tokensOf(user).get(0);
+        stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        refreshTokenRepository.save(stored);
+        assertThatThrownBy(() -> refreshTokenService.exchange(expired))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("expired");
+
+        User inactive = createUser(User.Role.USER);
+        String token = refreshTokenService.issue(inactive.getId());
+        inactive.setIsActive(false);
+        userRepository.save(inactive);
+        assertThatThrownBy(() -> refreshTokenService.exchange(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("inactive");
+    }
+
+    private List<RefreshToken> tokensOf(User user) {
+        return refreshTokenRepository.findAll().stream()
+                .filter(t -> t.getUser().getId().equals(user.getId()))
+                .toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderResponse;
+import com.quotation.dto.SalesReport;
+import com.quotation.dto.SalesReportQuery;
+import com.quotation.dto.SalesReportRow;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.Order;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void countsOnlyBilledOrdersUnlessStatusesAreGiven() {
+        User user = createUser(User.Role.USER);
+        Customer customer = createCustomer(user, null);
+        List<Item> items = createItems(user, 1);
+        authenticate(user);
+        OrderResponse billed = orderService.createOrder(orderRequest(customer, items));
+        OrderResponse cancelled = orderService.createOrder(orderRequest(customer, items));
+        orderService.updateOrderStatus(cancelled.getId(), Order.OrderStatus.CANCELLED);
+        OrderResponse draft = orderService.createOrder(orderRequest(customer, items));
+        orderService.updateOrderStatus(draft.getId(), Order.OrderStatus.DRAFT);
+
+        SalesReportQuery query = new SalesReportQuery();
+        query.setGroupBy("customer");
+        query.setFrom(LocalDate.now().minusDays(1));
+        query.setTo(LocalDate.now().plusDays(1));
+        query.setLimit(500);
+
+        SalesReportRow row = customerRow(reportService.getSalesReport(query), customer);
+        assertThat(row.getOrderCount()).isEqualTo(1);
+        assertThat(row.getTotal()).isEqualByComparingTo(billed.getTotal());
+
+        query.setStatus(List.of(Order.OrderStatus.CANCELLED, Order.OrderStatus.DRAFT));
+        assertThat(customerRow(reportService.getSalesReport(query), customer).getOrderCount()).isEqualTo(2);
+    }
+
+    private static SalesReportRow customerRow(SalesReport report, Customer customer) {
+        return report.getRows().stream()
+                .filter(row -> row.getKey().equals(customer.getId().toString()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.LatencyRecorder;
+import com.quotation.dto.RankingQuery;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ranking latency over a synthetic order history of {@code bench.ranking.lines} order lines (ten per order),
+ * for the partitioned scan at several parallelism levels next to a plain SQL {@code GROUP BY}. The rows are
+ * inserted with ids above the existing ones and deleted afterwards. For the full ten million lines
+ * give the forked JVM enough heap, e.g. {@code -Dbench.ranking.lines=10000000 -DargLine=-Xmx8g}.
+ */
+class SalesRankingBenchmark extends IntegrationTest {
+
+    @Autowired
+    private SalesRankingService salesRankingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rankings() throws Exception {
+        int lines = LatencyRecorder.size("bench.ranking.lines", 1_000_000);
+        int orders = Math.max(lines / 10, 1);
+        int customers = Math.max(orders / 50, 1);
+        User user = createUser(User.Role.USER);
+        // Directly after the existing rows: the scan partitions the id range, so a gap would only add empty scans
+        long firstId = jdbcTemplate.queryForObject("SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders), "
+                + "(SELECT COALESCE(MAX(id), 0) FROM customers))", Long.class);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO customers (id, name, phone, created_by, created_at, updated_at) "
+                + "SELECT ? + X, 'Customer ' || X, '98765 43210', ?, NOW(), NOW() FROM SYSTEM_RANGE(1, ?)",
+                firstId, user.getId(), customers);
+        jdbcTemplate.update("INSERT INTO orders (id, order_number, customer_id, customer_name, subtotal, "
+                + "gst_enabled, gst_amount, gst_rate, total, status, billing_date, created_by, created_at, updated_at) "
+                + "SELECT ? + X, 'BENCH-' || X, ? + 1 + MOD(X * 7, ?), 'c', MOD(X, 997) + 0.25, FALSE, 0, 18, "
+                + "MOD(X, 997) + 0.25, CASE MOD(X, 5) WHEN 0 THEN 'CANCELLED' WHEN 1 THEN 'COMPLETED' "
+                + "ELSE 'PENDING' END, DATEADD('DAY', -MOD(X, 400), CURRENT_DATE), ?, NOW(), NOW() "
+                + "FROM SYSTEM_RANGE(1, ?)", firstId, firstId, customers, user.getId(), orders);
+        jdbcTemplate.update("INSERT INTO order_items (order_id, line_number, item_id, item_name, quantity, price, "
+                + "unit, total) SELECT ? + o.X, l.X, 1 + MOD(o.X * 31 + l.X * 17, 5000), 'i', 1 + MOD(o.X + l.X, 9), "
+                + "1.5, 'pcs', (1 + MOD(o.X + l.X, 9)) * 1.5 FROM SYSTEM_RANGE(1, ?) o, SYSTEM_RANGE(0, 9) l",
+                firstId, orders);
+        System.out.printf("loaded %d orders, %d lines in %d ms%n", orders, orders * 10,
+                (System.nanoTime() - start) / 1_000_000);
+
+        Object pool = ReflectionTestUtils.getField(salesRankingService, "pool");
+        try {
+            int iterations = LatencyRecorder.size("bench.iterations", 5);
+            // H2 reuses the result of a repeated query with the same arguments, so every run moves the end date
+            AtomicInteger run = new AtomicInteger();
+            RankingQuery query = new RankingQuery();
+            query.setLimit(50);
+            for (int parallelism : new int[]{1, 2, 4}) {
+                ForkJoinPool levelPool = new ForkJoinPool(parallelism);
+                ReflectionTestUtils.setField(salesRankingService, "pool", levelPool);
+                LatencyRecorder.measure("top items, parallelism " + parallelism, 2, iterations, () -> {
+                    query.setTo(LocalDate.now().plusDays(run.incrementAndGet()));
+                    salesRankingService.topItems(query);
+                });
+                LatencyRecorder.measure("customer lifetime value, parallelism " + parallelism, 2, iterations, () -> {
+                    query.setTo(LocalDate.now().plusDays(run.incrementAndGet()));
+                    salesRankingService.customerLifetimeValue(query);
+                });
+                ReflectionTestUtils.setField(salesRankingService, "pool", pool);
+                levelPool.shutdown();
+            }
+            LatencyRecorder.measure("top items, SQL GROUP BY", 2, iterations, () -> jdbcTemplate.queryForList(
+                    "SELECT oi.item_id, SUM(oi.quantity) FROM orders o JOIN order_items oi ON oi.order_id = o.id "
+                            + "WHERE o.status IN ('PENDING', 'CONFIRMED', 'COMPLETED') AND o.billing_date <= ? "
+                            + "GROUP BY oi.item_id ORDER BY 2 DESC, 1 LIMIT 50",
+                    LocalDate.now().plusDays(run.incrementAndGet())));
+            LatencyRecorder.measure("customer lifetime value, SQL GROUP BY", 2, iterations,
+                    () -> jdbcTemplate.queryForList("SELECT customer_id, COUNT(*), SUM(total), MIN(billing_date), "
+                            + "MAX(billing_date) FROM orders WHERE status IN ('PENDING', 'CONFIRMED', 'COMPLETED') "
+                            + "AND billing_date <= ? GROUP BY customer_id ORDER BY 3 DESC, 1 LIMIT 50",
+                            LocalDate.now().plusDays(run.incrementAndGet())));
+        } finally {
+            ReflectionTestUtils.setField(salesRankingService, "pool", pool);
+            jdbcTemplate.update("DELETE FROM order_items WHERE order_id > ?", firstId);
+            jdbcTemplate.update("DELETE FROM orders WHERE id > ?", firstId);
+            jdbcTemplate.update("DELETE FROM customers WHERE id > ?", firstId);
+        }
+    }
+}
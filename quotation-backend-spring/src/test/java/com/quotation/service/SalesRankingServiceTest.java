@@ -0,0 +1,166 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.CustomerLifetimeValue;
+import com.quotation.dto.ItemRanking;
+import com.quotation.dto.OrderRequest;
+import com.quotation.dto.RankingQuery;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.Order;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the partitioned in-memory rankings with the same aggregation done by the database. The
+ * database is shared with other tests, so both sides rank every order in it.
+ */
+class SalesRankingServiceTest extends IntegrationTest {
+
+    private static final String BILLED = "('PENDING', 'CONFIRMED', 'COMPLETED')";
+
+    @Autowired
+    private SalesRankingService salesRankingService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Object partitionSize;
+
+    @BeforeEach
+    void useSmallPartitions() {
+        // Forces many partitions and merges even for a few hundred orders
+        partitionSize = ReflectionTestUtils.getField(salesRankingService, "partitionSize");
+        ReflectionTestUtils.setField(salesRankingService, "partitionSize", 7L);
+    }
+
+    @AfterEach
+    void restorePartitions() {
+        ReflectionTestUtils.setField(salesRankingService, "partitionSize", partitionSize);
+    }
+
+    @Test
+    void matchesGroupByQueries() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        List<Item> items = createItems(user, 6);
+        List<Customer> customers = List.of(createCustomer(user, null), createCustomer(user, null),
+                createCustomer(user, null));
+        Order.OrderStatus[] statuses = Order.OrderStatus.values();
+        Random random = new Random(3);
+        for (int i = 0; i < 60; i++) {
+            OrderRequest request = orderRequest(customers.get(random.nextInt(customers.size())),
+                    items.subList(random.nextInt(3), 3 + random.nextInt(4)));
+            request.getItems().forEach(line -> line.setQuantity(1 + random.nextInt(20)));
+            Long id = orderService.createOrder(request).getId();
+            orderService.updateOrderStatus(id, statuses[random.nextInt(statuses.length)]);
+        }
+
+        assertThat(itemRows(query("quantity", null))).hasSizeGreaterThanOrEqualTo(items.size());
+        for (String by : new String[]{"quantity", "revenue"}) {
+            String column = by.equals("quantity") ? "SUM(oi.quantity)" : "SUM(oi.total)";
+            assertThat(itemRows(query(by, null))).isEqualTo(jdbcTemplate.queryForList(
+                    "SELECT oi.item_id, SUM(oi.quantity), SUM(oi.total) FROM orders o "
+                            + "JOIN order_items oi ON oi.order_id = o.id WHERE o.status IN " + BILLED
+                            + " GROUP BY oi.item_id ORDER BY " + column + " DESC, oi.item_id LIMIT 500")
+                    .stream().map(SalesRankingServiceTest::row).collect(Collectors.toList()));
+        }
+        assertThat(itemRows(query("quantity", List.of(Order.OrderStatus.CANCELLED)))).isEqualTo(
+                jdbcTemplate.queryForList("SELECT oi.item_id, SUM(oi.quantity), SUM(oi.total) FROM orders o "
+                                + "JOIN order_items oi ON oi.order_id = o.id WHERE o.status = 'CANCELLED' "
+                                + "GROUP BY oi.item_id ORDER BY SUM(oi.quantity) DESC, oi.item_id LIMIT 500")
+                        .stream().map(SalesRankingServiceTest::row).collect(Collectors.toList()));
+
+        for (String by : new String[]{"orders", "revenue"}) {
+            String column = by.equals("orders") ? "COUNT(*)" : "SUM(total)";
+            assertThat(customerRows(query(by, null))).isEqualTo(jdbcTemplate.queryForList(
+                    "SELECT customer_id, COUNT(*), SUM(total), MIN(billing_date), MAX(billing_date) FROM orders "
+                            + "WHERE status IN " + BILLED + " GROUP BY customer_id ORDER BY " + column
+                            + " DESC, customer_id LIMIT 500")
+                    .stream().map(SalesRankingServiceTest::row).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void partitionsAreReadWithAFetchSizeInsideATransaction() {
+        User user = createUser(User.Role.USER);
+        authenticate(user);
+        Customer customer = createCustomer(user, null);
+        List<Item> items = createItems(user, 2);
+        for (int i = 0; i < 20; i++) {
+            orderService.createOrder(orderRequest(customer, items));
+        }
+
+        // PgJDBC only uses a cursor when auto-commit is off and a fetch size is set
+        List<String> settings = new ArrayList<>();
+        Object template = ReflectionTestUtils.getField(salesRankingService, "partitionTemplate");
+        JdbcTemplate recording = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            protected void applyStatementSettings(Statement stmt) throws SQLException {
+                super.applyStatementSettings(stmt);
+                synchronized (settings) {
+                    settings.add("autoCommit=" + stmt.getConnection().getAutoCommit()
+                            + " fetchSize=" + stmt.getFetchSize());
+                }
+            }
+        };
+        recording.setFetchSize(250);
+        ReflectionTestUtils.setField(salesRankingService, "partitionTemplate", recording);
+        try {
+            salesRankingService.topItems(query("quantity", null));
+            salesRankingService.customerLifetimeValue(query("revenue", null));
+        } finally {
+            ReflectionTestUtils.setField(salesRankingService, "partitionTemplate", template);
+        }
+
+        assertThat(settings).hasSizeGreaterThan(2).containsOnly("autoCommit=false fetchSize=250");
+    }
+
+    private static RankingQuery query(String by, List<Order.OrderStatus> status) {
+        RankingQuery query = new RankingQuery();
+        query.setBy(by);
+        query.setStatus(status);
+        query.setLimit(500);
+        return query;
+    }
+
+    private List<String> itemRows(RankingQuery query) {
+        return salesRankingService.topItems(query).stream()
+                .map((ItemRanking r) -> r.getItemId() + " " + r.getQuantity() + " " + r.getRevenue().toPlainString())
+                .collect(Collectors.toList());
+    }
+
+    private List<String> customerRows(RankingQuery query) {
+        return salesRankingService.customerLifetimeValue(query).stream()
+                .map((CustomerLifetimeValue r) -> r.getCustomerId() + " " + r.getOrderCount() + " "
+                        + r.getRevenue().toPlainString() + " " + r.getFirstOrderDate() + " " + r.getLastOrderDate())
+                .collect(Collectors.toList());
+    }
+
+    private static String row(Map<String, Object> columns) {
+        return columns.values().stream()
+                .map(value -> value instanceof BigDecimal decimal ? decimal.setScale(2).toPlainString()
+                        : value instanceof Date date ? date.toLocalDate().toString() : String.valueOf(value))
+                .collect(Collectors.joining(" "));
+    }
+}
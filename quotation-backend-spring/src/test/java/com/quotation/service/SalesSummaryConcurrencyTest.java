@@ -0,0 +1,87 @@
+package com.quotation.service;
+
+import com.quotation.IntegrationTest;
+import com.quotation.dto.OrderResponse;
+import com.quotation.entity.Customer;
+import com.quotation.entity.Item;
+import com.quotation.entity.Order;
+import com.quotation.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesSummaryConcurrencyTest extends IntegrationTest {
+
+    private static final int THREADS = 8;
+
+    private static final Order.OrderStatus[] STATUSES = {
+            Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.CANCELLED,
+            Order.OrderStatus.COMPLETED};
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentStatusChangesKeepSummariesExact() throws Exception {
+        User user = createUser(User.Role.USER);
+        Customer customer = createCustomer(user, null);
+        List<Item> items = createItems(user, 2);
+        authenticate(user);
+        Long orderId = orderService.createOrder(orderRequest(customer, items)).getId();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            tasks.add(() -> {
+                authenticate(user);
+                for (int i = 0; i < 20; i++) {
+                    orderService.updateOrderStatus(orderId, STATUSES[(offset + i) % STATUSES.length]);
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+
+        OrderResponse order = orderService.getOrderById(orderId);
+        BigDecimal total = order.getTotal();
+
+        // The customer's buckets must hold exactly the one order, under its final status
+        List<Map<String, Object>> buckets = jdbcTemplate.queryForList(
+                "SELECT status, order_count, total FROM sales_summary WHERE dimension = 'CUSTOMER' "
+                        + "AND dimension_id = ? AND order_count <> 0", customer.getId());
+        assertThat(buckets).hasSize(1);
+        assertThat(buckets.get(0).get("STATUS")).isEqualTo(order.getStatus());
+        assertThat(((Number) buckets.get(0).get("ORDER_COUNT")).longValue()).isEqualTo(1);
+        assertThat((BigDecimal) buckets.get(0).get("TOTAL")).isEqualByComparingTo(total);
+
+        Map<String, Object> summary = jdbcTemplate.queryForMap(
+                "SELECT order_count, total_billed FROM customer_order_summary WHERE customer_id = ?",
+                customer.getId());
+        assertThat(((Number) summary.get("ORDER_COUNT")).longValue()).isEqualTo(1);
+        assertThat((BigDecimal) summary.get("TOTAL_BILLED"))
+                .isEqualByComparingTo(Order.OrderStatus.CANCELLED.name().equals(order.getStatus()) ? BigDecimal.ZERO : total);
+    }
+}
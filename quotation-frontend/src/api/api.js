@@ -13,13 +13,76 @@ const getAuthHeaders = () => {
   };
 };
 
+// Store the tokens and user returned by login, register and refresh
+const saveSession = (data) => {
+  localStorage.setItem('token', data.token);
+  if (data.refreshToken) {
+    localStorage.setItem('refreshToken', data.refreshToken);
+  }
+  localStorage.setItem('user', JSON.stringify({ name: data.name, email: data.email }));
+};
+
+const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+};
+
+// Access tokens are short-lived; exchange the refresh token for a new pair.
+// Refresh tokens are single-use, so concurrent 401s share one refresh request.
+let refreshInFlight = null;
+
+const refreshSession = () => {
+  if (!refreshInFlight) {
+    refreshInFlight = (async () => {
+      const refreshToken = localStorage.getItem('refreshToken');
+      if (!refreshToken) {
+        return false;
+      }
+      try {
+        const res = await fetch(`${BASE_URL}/auth/refresh`, {
+          method: "POST",
+          headers: { "Content-Type": "application/json" },
+          body: JSON.stringify({ refreshToken }),
+        });
+        if (!res.ok) {
+          return false;
+        }
+        saveSession(await res.json());
+        return true;
+      } catch (e) {
+        console.error('❌ Token refresh failed:', e);
+        return false;
+      }
+    })().finally(() => {
+      refreshInFlight = null;
+    });
+  }
+  return refreshInFlight;
+};
+
+// fetch with the auth headers; on a 401 refresh the session once and retry
+const authFetch = async (url, options = {}) => {
+  const token = localStorage.getItem('token');
+  const res = await fetch(url, { ...options, headers: getAuthHeaders() });
+  if (res.status !== 401) {
+    return res;
+  }
+  // Another request may already have refreshed the session while this one was in flight
+  const refreshed = localStorage.getItem('token') !== token || await refreshSession();
+  if (!refreshed) {
+    return res;
+  }
+  return fetch(url, { ...options, headers: getAuthHeaders() });
+};
+
 // Helper function to handle API responses with better error handling
 const handleResponse = async (response) => {
   if (!response.ok) {
-    // Handle 401 Unauthorized - token might be expired
+    // Handle 401 Unauthorized - the session could not be refreshed
     if (response.status === 401) {
       console.warn('⚠️ Unauthorized (401) - Logging out...');
-      logout();
+      clearSession();
       window.location.href = '/';
       throw new Error('Session expired. Please login again.');
     }
@@ -49,8 +112,7 @@ export const register = async (payload) => {
   });
   const data = await handleResponse(res);
   if (data.token) {
-    localStorage.setItem('token', data.token);
-    localStorage.setItem('user', JSON.stringify({ name: data.name, email: data.email }));
+    saveSession(data);
   }
   return data;
 };
@@ -64,16 +126,26 @@ export const login = async (payload) => {
   });
   const data = await handleResponse(res);
   if (data.token) {
-    localStorage.setItem('token', data.token);
-    localStorage.setItem('user', JSON.stringify({ name: data.name, email: data.email }));
+    saveSession(data);
     console.log('✅ Login successful:', data.email);
   }
   return data;
 };
 
+// Clears the session locally right away, then revokes the refresh token and the access token on the server
 export const logout = () => {
-  localStorage.removeItem('token');
-  localStorage.removeItem('user');
+  const refreshToken = localStorage.getItem('refreshToken');
+  const headers = getAuthHeaders();
+  clearSession();
+  if (!refreshToken) {
+    return Promise.resolve();
+  }
+  return fetch(`${BASE_URL}/auth/logout`, {
+    method: "POST",
+    headers,
+    body: JSON.stringify({ refreshToken }),
+    keepalive: true,
+  }).catch((e) => console.warn('⚠️ Logout request failed:', e));
 };
 
 export const isAuthenticated = () => {
@@ -82,32 +154,26 @@ export const isAuthenticated = () => {
 
 // Customer APIs
 export const fetchCustomers = async (search = "") => {
-  const res = await fetch(`${BASE_URL}/customers?search=${search}`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/customers?search=${search}`);
   return handleResponse(res);
 };
 
 export const fetchCustomerById = async (id) => {
-  const res = await fetch(`${BASE_URL}/customers/${id}`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/customers/${id}`);
   return handleResponse(res);
 };
 
 export const createCustomer = async (payload) => {
-  const res = await fetch(`${BASE_URL}/customers`, {
+  const res = await authFetch(`${BASE_URL}/customers`, {
     method: "POST",
-    headers: getAuthHeaders(),
     body: JSON.stringify(payload),
   });
   return handleResponse(res);
 };
 
 export const updateCustomer = async (id, payload) => {
-  const res = await fetch(`${BASE_URL}/customers/${id}`, {
+  const res = await authFetch(`${BASE_URL}/customers/${id}`, {
     method: "PUT",
-    headers: getAuthHeaders(),
     body: JSON.stringify(payload),
   });
   return handleResponse(res);
@@ -115,16 +181,13 @@ export const updateCustomer = async (id, payload) => {
 
 // Employee APIs
 export const fetchEmployees = async () => {
-  const res = await fetch(`${BASE_URL}/employees`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/employees`);
   return handleResponse(res);
 };
 
 export const addEmployee = async (payload) => {
-  const res = await fetch(`${BASE_URL}/employees`, {
+  const res = await authFetch(`${BASE_URL}/employees`, {
     method: "POST",
-    headers: getAuthHeaders(),
     body: JSON.stringify(payload),
   });
   return handleResponse(res);
@@ -132,16 +195,13 @@ export const addEmployee = async (payload) => {
 
 // Category APIs
 export const fetchCategories = async () => {
-  const res = await fetch(`${BASE_URL}/categories`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/categories`);
   return handleResponse(res);
 };
 
 export const addCategory = async (payload) => {
-  const res = await fetch(`${BASE_URL}/categories`, {
+  const res = await authFetch(`${BASE_URL}/categories`, {
     method: "POST",
-    headers: getAuthHeaders(),
     body: JSON.stringify(payload),
   });
   return handleResponse(res);
@@ -153,16 +213,13 @@ export const fetchItems = async ({ search = "", categoryId = "" } = {}) => {
   if (search) params.append('search', search);
   if (categoryId) params.append('categoryId', categoryId);
   
-  const res = await fetch(`${BASE_URL}/items?${params.toString()}`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/items?${params.toString()}`);
   return handleResponse(res);
 };
 
 export const addItem = async (payload) => {
-  const res = await fetch(`${BASE_URL}/items`, {
+  const res = await authFetch(`${BASE_URL}/items`, {
     method: "POST",
-    headers: getAuthHeaders(),
     body: JSON.stringify(payload),
   });
   return handleResponse(res);
@@ -170,32 +227,26 @@ export const addItem = async (payload) => {
 
 // Order APIs
 export const createOrder = async (payload) => {
-  const res = await fetch(`${BASE_URL}/orders`, {
+  const res = await authFetch(`${BASE_URL}/orders`, {
     method: "POST",
-    headers: getAuthHeaders(),
     body: JSON.stringify(payload),
   });
   return handleResponse(res);
 };
 
 export const fetchOrders = async () => {
-  const res = await fetch(`${BASE_URL}/orders`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/orders`);
   return handleResponse(res);
 };
 
 export const fetchOrderById = async (orderId) => {
-  const res = await fetch(`${BASE_URL}/orders/${orderId}`, {
-    headers: getAuthHeaders()
-  });
+  const res = await authFetch(`${BASE_URL}/orders/${orderId}`);
   return handleResponse(res);
 };
 
 export const updateOrderStatus = async (orderId, status) => {
-  const res = await fetch(`${BASE_URL}/orders/${orderId}/status`, {
+  const res = await authFetch(`${BASE_URL}/orders/${orderId}/status`, {
     method: "PATCH",
-    headers: getAuthHeaders(),
     body: JSON.stringify({ status })
   });
   return handleResponse(res);